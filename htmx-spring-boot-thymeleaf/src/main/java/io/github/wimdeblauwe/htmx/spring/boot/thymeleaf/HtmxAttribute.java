@@ -0,0 +1,104 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+/**
+ * The htmx attributes supported by the {@link HtmxDialect}, together with the kind of value each of them takes.
+ * <p>
+ * The dialect registers exactly one processor for every entry, so adding support for a new htmx attribute only
+ * requires a new entry here.
+ *
+ * @see <a href="https://htmx.org/reference/#attributes">Attribute Reference</a>
+ * @since 5.2.0
+ */
+enum HtmxAttribute {
+
+    BOOST("boost"),
+    CONFIRM("confirm"),
+    DELETE("delete", Type.URL, true),
+    DISABLE("disable"),
+    DISABLED_ELT("disabled-elt"),
+    DISINHERIT("disinherit"),
+    ENCODING("encoding"),
+    EXT("ext"),
+    GET("get", Type.URL),
+    HEADERS("headers", Type.JSON),
+    HISTORY("history"),
+    HISTORY_ELT("history-elt"),
+    INCLUDE("include"),
+    INDICATOR("indicator"),
+    INHERIT("inherit"),
+    PARAMS("params"),
+    PATCH("patch", Type.URL, true),
+    POST("post", Type.URL, true),
+    PRESERVE("preserve"),
+    PROMPT("prompt"),
+    PUSH_URL("push-url", Type.URL),
+    PUT("put", Type.URL, true),
+    REPLACE_URL("replace-url", Type.URL),
+    REQUEST("request", Type.JSON),
+    SELECT("select"),
+    SELECT_OOB("select-oob"),
+    SWAP("swap"),
+    SWAP_OOB("swap-oob"),
+    SYNC("sync"),
+    TARGET("target"),
+    TRIGGER("trigger"),
+    VALIDATE("validate"),
+    VALS("vals", Type.JSON),
+    VARS("vars", Type.JSON);
+
+    private final String name;
+    private final Type type;
+    private final boolean csrf;
+
+    HtmxAttribute(String name) {
+        this(name, Type.STRING);
+    }
+
+    HtmxAttribute(String name, Type type) {
+        this(name, type, false);
+    }
+
+    HtmxAttribute(String name, Type type, boolean csrf) {
+        this.name = name;
+        this.type = type;
+        this.csrf = csrf;
+    }
+
+    /**
+     * The name of the attribute without the {@code hx-} prefix.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Whether the attribute issues a request with an unsafe HTTP method, which requires the CSRF token
+     * to be merged into {@code hx-headers}.
+     */
+    public boolean isCsrf() {
+        return csrf;
+    }
+
+    /**
+     * The kind of value an attribute takes.
+     */
+    enum Type {
+        /**
+         * A plain value that is rendered as is.
+         */
+        STRING,
+        /**
+         * A URL, which is subject to processing by a {@code RequestDataValueProcessor}.
+         */
+        URL,
+        /**
+         * A JSON value, for which {@link java.util.Map} expression results are serialized.
+         */
+        JSON
+    }
+
+}
@@ -19,13 +19,14 @@ import tools.jackson.databind.ObjectMapper;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class HtmxAttributeProcessor extends AbstractStandardExpressionAttributeTagProcessor
         implements IAttributeDefinitionsAware {
 
     public static final int ATTR_PRECEDENCE = 1000;
     private final String attrName;
+    private final boolean url;
+    private final boolean json;
     protected final ObjectMapper mapper;
 
     private static final TemplateMode TEMPLATE_MODE = TemplateMode.HTML;
@@ -42,8 +43,29 @@ public class HtmxAttributeProcessor extends AbstractStandardExpressionAttributeT
                                   String attrName,
                                   int precedence,
                                   ObjectMapper mapper) {
+        this(dialectPrefix, attrName, precedence, true, true, mapper);
+    }
+
+    HtmxAttributeProcessor(String dialectPrefix,
+                           HtmxAttribute attribute,
+                           int precedence,
+                           ObjectMapper mapper) {
+        this(dialectPrefix, attribute.getName(), precedence,
+                attribute.getType() == HtmxAttribute.Type.URL,
+                attribute.getType() == HtmxAttribute.Type.JSON,
+                mapper);
+    }
+
+    private HtmxAttributeProcessor(String dialectPrefix,
+                                   String attrName,
+                                   int precedence,
+                                   boolean url,
+                                   boolean json,
+                                   ObjectMapper mapper) {
         super(TEMPLATE_MODE, dialectPrefix, attrName, precedence, false, true);
         this.attrName = attrName;
+        this.url = url;
+        this.json = json;
         this.mapper = mapper;
     }
 
@@ -66,27 +88,36 @@ public class HtmxAttributeProcessor extends AbstractStandardExpressionAttributeT
             structureHandler.removeAttribute(attributeName);
         } else {
             String expressionResultString;
-            if (expressionResult instanceof Map) {
-                Map<?, ?> mapWithoutNullValues = ((Map<?, ?>) expressionResult).entrySet().stream()
-                                                                               .filter(entry -> entry.getKey() != null && entry.getValue() != null)
-                                                                               .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (x, y) -> y, LinkedHashMap::new));
-
-                try {
-                    expressionResultString = this.mapper.writeValueAsString(mapWithoutNullValues);
-                } catch (JacksonException e) {
-                    throw new TemplateProcessingException("Exception writing map", tag.getTemplateName(), tag.getLine(), tag.getLine(), e);
-                }
+            if (this.json && expressionResult instanceof Map<?, ?> map) {
+                expressionResultString = writeJson(tag, map);
             } else {
                 expressionResultString = expressionResult.toString();
             }
 
             String newAttributeValue = HtmlEscape.escapeHtml4Xml(expressionResultString);
 
-            // Let RequestDataValueProcessor modify the attribute value if needed
-            newAttributeValue = RequestDataValueProcessorUtils.processUrl(context, newAttributeValue);
+            // Let RequestDataValueProcessor modify the attribute value if needed, which only applies to URLs
+            if (this.url) {
+                newAttributeValue = RequestDataValueProcessorUtils.processUrl(context, newAttributeValue);
+            }
 
             // Set the real, non prefixed attribute
             StandardProcessorUtils.replaceAttribute(structureHandler, attributeName, this.targetAttributeDefinition, "hx-" + this.attrName, (newAttributeValue == null ? "" : newAttributeValue));
         }
     }
+
+    private String writeJson(IProcessableElementTag tag, Map<?, ?> map) {
+        Map<Object, Object> mapWithoutNullValues = new LinkedHashMap<>(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                mapWithoutNullValues.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        try {
+            return this.mapper.writeValueAsString(mapWithoutNullValues);
+        } catch (JacksonException e) {
+            throw new TemplateProcessingException("Exception writing map", tag.getTemplateName(), tag.getLine(), tag.getLine(), e);
+        }
+    }
 }
@@ -51,6 +51,12 @@ public class HtmxCsrfAttributeProcessor extends HtmxAttributeProcessor {
         super(dialectPrefix, attrName, ATTR_PRECEDENCE + 1, mapper);
     }
 
+    HtmxCsrfAttributeProcessor(String dialectPrefix,
+                               HtmxAttribute attribute,
+                               ObjectMapper mapper) {
+        super(dialectPrefix, attribute, ATTR_PRECEDENCE + 1, mapper);
+    }
+
     @Override
     protected void doProcess(
             final ITemplateContext context,
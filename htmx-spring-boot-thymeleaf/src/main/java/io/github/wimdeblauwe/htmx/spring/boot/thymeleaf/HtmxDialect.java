@@ -1,5 +1,6 @@
 package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
 
+import org.springframework.util.function.SingletonSupplier;
 import org.thymeleaf.dialect.AbstractProcessorDialect;
 import org.thymeleaf.dialect.IExpressionObjectDialect;
 import org.thymeleaf.expression.IExpressionObjectFactory;
@@ -8,51 +9,63 @@ import tools.jackson.databind.ObjectMapper;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Supplier;
 
 public class HtmxDialect extends AbstractProcessorDialect implements IExpressionObjectDialect {
 
     private HtmxExpressionObjectFactory expressionObjectFactory;
 
-    private final ObjectMapper mapper;
+    private final SingletonSupplier<ObjectMapper> mapper;
+
+    private final boolean observeFragments;
 
     public HtmxDialect(ObjectMapper mapper) {
+        this(mapper, false);
+    }
+
+    /**
+     * Create a new dialect.
+     *
+     * @param mapper           the mapper used to serialize JSON attribute values
+     * @param observeFragments whether fragments are observed by a {@link HtmxThymeleafView}, in which case the
+     *                         dialect marks the fragments containing an out of band swap
+     * @since 5.2.0
+     */
+    public HtmxDialect(ObjectMapper mapper, boolean observeFragments) {
+        this(() -> mapper, observeFragments);
+    }
+
+    /**
+     * Create a new dialect that obtains the mapper used to serialize JSON attribute values when the template engine
+     * initializes its processors, i.e. when the first template is processed rather than on startup.
+     *
+     * @param mapper           the supplier of the mapper used to serialize JSON attribute values
+     * @param observeFragments whether fragments are observed by a {@link HtmxThymeleafView}, in which case the
+     *                         dialect marks the fragments containing an out of band swap
+     * @since 5.2.0
+     */
+    public HtmxDialect(Supplier<ObjectMapper> mapper, boolean observeFragments) {
         super("Htmx", "hx", 1000);
-        this.mapper = mapper;
+        this.mapper = SingletonSupplier.of(mapper);
+        this.observeFragments = observeFragments;
     }
 
     @Override
     public Set<IProcessor> getProcessors(String dialectPrefix) {
         Set<IProcessor> htmxProcessors = new HashSet<>();
+        ObjectMapper mapper = this.mapper.obtain();
 
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "boost", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "confirm", mapper));
-        htmxProcessors.add(new HtmxCsrfAttributeProcessor(dialectPrefix, "delete", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "disable", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "disinherit", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "encoding", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "ext", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "get", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "headers", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "history-elt", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "include", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "indicator", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "params", mapper));
-        htmxProcessors.add(new HtmxCsrfAttributeProcessor(dialectPrefix, "patch", mapper));
-        htmxProcessors.add(new HtmxCsrfAttributeProcessor(dialectPrefix, "post", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "preserve", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "prompt", mapper));
-        htmxProcessors.add(new HtmxCsrfAttributeProcessor(dialectPrefix, "put", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "push-url", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "request", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "select", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "swap", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "swap-oob", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "sync", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "target", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "trigger", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "validate", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "vals", mapper));
-        htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, "vars", mapper));
+        for (HtmxAttribute attribute : HtmxAttribute.values()) {
+            if (attribute.isCsrf()) {
+                htmxProcessors.add(new HtmxCsrfAttributeProcessor(dialectPrefix, attribute, mapper));
+            } else {
+                htmxProcessors.add(new HtmxAttributeProcessor(dialectPrefix, attribute, HtmxAttributeProcessor.ATTR_PRECEDENCE, mapper));
+            }
+        }
+        if (observeFragments) {
+            htmxProcessors.add(new HtmxSwapOobObservationProcessor());
+            htmxProcessors.add(new HtmxSwapOobObservationProcessor(dialectPrefix));
+        }
 
         return htmxProcessors;
     }
@@ -37,6 +37,8 @@ public class HtmxExpressionObjectFactory implements IExpressionObjectFactory {
             IServletWebRequest webRequest = (IServletWebRequest) exchange.getRequest();
             HttpServletRequest request = (HttpServletRequest) webRequest.getNativeRequestObject();
 
+            // the HtmxRequest is cached per request, so it is only created once even if several
+            // fragments are rendered with their own template context
             return HtmxRequest.fromRequest(request);
         }
 
@@ -0,0 +1,56 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records the {@link HtmxFragmentRenderedEvent}, if the {@code jdk.jfr} module is available.
+ * <p>
+ * The event is only referenced by the nested {@link Events} class, so that the library also works on runtimes
+ * without that module. {@link #beginFragmentRendered()} returns the started event as an opaque object, or
+ * {@code null} if the event is not enabled, which has to be passed to {@link #commitFragmentRendered}.
+ *
+ * @since 5.2.0
+ */
+final class HtmxFragmentFlightRecorder {
+
+    private static final boolean JFR_PRESENT = ClassUtils.isPresent("jdk.jfr.Event", HtmxFragmentFlightRecorder.class.getClassLoader());
+
+    private HtmxFragmentFlightRecorder() {
+    }
+
+    @Nullable
+    static Object beginFragmentRendered() {
+        return JFR_PRESENT ? Events.beginFragmentRendered() : null;
+    }
+
+    static void commitFragmentRendered(@Nullable Object event, HtmxThymeleafView view) {
+        if (event != null) {
+            Events.commitFragmentRendered(event, view);
+        }
+    }
+
+    private static final class Events {
+
+        @Nullable
+        static Object beginFragmentRendered() {
+            var event = new HtmxFragmentRenderedEvent();
+            if (!event.isEnabled()) {
+                return null;
+            }
+            event.begin();
+            return event;
+        }
+
+        static void commitFragmentRendered(Object recorded, HtmxThymeleafView view) {
+            var event = (HtmxFragmentRenderedEvent) recorded;
+            if (event.shouldCommit()) {
+                HtmxThymeleafView.FragmentName fragmentName = view.getFragmentName();
+                event.template = fragmentName.template();
+                event.selector = fragmentName.selector();
+                event.commit();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+import io.micrometer.observation.Observation;
+
+/**
+ * The {@link Observation.Context} of a fragment rendered by a {@link HtmxThymeleafView}.
+ *
+ * @since 5.2.0
+ */
+class HtmxFragmentObservationContext extends Observation.Context {
+
+    private boolean oob;
+
+    /**
+     * Whether the fragment contains an element that is swapped out of band.
+     */
+    boolean isOob() {
+        return oob;
+    }
+
+    void setOob(boolean oob) {
+        this.oob = oob;
+    }
+
+}
@@ -0,0 +1,28 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded when a {@link HtmxThymeleafView} renders a template or fragment.
+ *
+ * @since 5.2.0
+ */
+@Name("io.github.wimdeblauwe.htmx.FragmentRendered")
+@Label("htmx Fragment Rendered")
+@Description("A Thymeleaf template or fragment has been rendered")
+@Category("htmx")
+@StackTrace(false)
+class HtmxFragmentRenderedEvent extends Event {
+
+    @Label("Template")
+    String template;
+
+    @Label("Selector")
+    String selector;
+
+}
@@ -0,0 +1,41 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.templatemode.TemplateMode;
+
+/**
+ * Marks the fragment rendered by a {@link HtmxThymeleafView} as containing an out of band swap,
+ * for both {@code hx-swap-oob} and {@code hx:swap-oob} attributes. The attribute itself is left untouched.
+ *
+ * @since 5.2.0
+ */
+class HtmxSwapOobObservationProcessor extends AbstractAttributeTagProcessor {
+
+    /**
+     * Create a processor for the plain {@code hx-swap-oob} attribute.
+     */
+    HtmxSwapOobObservationProcessor() {
+        super(TemplateMode.HTML, null, null, false, "hx-swap-oob", false, HtmxAttributeProcessor.ATTR_PRECEDENCE, false);
+    }
+
+    /**
+     * Create a processor for the {@code swap-oob} attribute of the dialect, which runs before it is replaced.
+     */
+    HtmxSwapOobObservationProcessor(String dialectPrefix) {
+        super(TemplateMode.HTML, dialectPrefix, null, false, HtmxAttribute.SWAP_OOB.getName(), true, HtmxAttributeProcessor.ATTR_PRECEDENCE - 1, false);
+    }
+
+    @Override
+    protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName, String attributeValue, IElementTagStructureHandler structureHandler) {
+        if (context instanceof IWebContext webContext
+            && webContext.getExchange().getAttributeValue(HtmxThymeleafView.OBSERVATION_CONTEXT_ATTRIBUTE) instanceof HtmxFragmentObservationContext observationContext) {
+            observationContext.setOob(true);
+        }
+    }
+
+}
@@ -1,17 +1,55 @@
 package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
 
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
 import tools.jackson.databind.json.JsonMapper;
 
 @AutoConfiguration
 @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ImportRuntimeHints(HtmxThymeleafRuntimeHints.class)
 public class HtmxThymeleafAutoConfiguration {
 
     @Bean
-    public HtmxDialect htmxDialect() {
-        return new HtmxDialect(JsonMapper.builder().build());
+    public HtmxDialect htmxDialect(ObjectProvider<ObservationRegistry> observationRegistry) {
+        ObservationRegistry registry = observationRegistry.getIfAvailable();
+        // the mapper is only needed for JSON attribute values, so it is created when the first template is processed
+        return new HtmxDialect(() -> JsonMapper.builder().build(), registry != null && !registry.isNoop());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ThymeleafViewResolver.class)
+    static class HtmxThymeleafViewConfiguration {
+
+        private static final String VIEW_RESOLVER_BEAN_NAME = "thymeleafViewResolver";
+
+        /**
+         * Let the {@link ThymeleafViewResolver} auto-configured by Spring Boot create {@link HtmxThymeleafView}s.
+         * A view resolver declared by the application is left untouched.
+         */
+        @Bean
+        static BeanPostProcessor htmxThymeleafViewResolverPostProcessor() {
+            return new BeanPostProcessor() {
+
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                    // Spring Boot's resolver is a plain ThymeleafViewResolver that keeps the default view class
+                    if (VIEW_RESOLVER_BEAN_NAME.equals(beanName) && bean.getClass() == ThymeleafViewResolver.class) {
+                        ((ThymeleafViewResolver) bean).setViewClass(HtmxThymeleafView.class);
+                    }
+                    return bean;
+                }
+            };
+        }
+
     }
 
 }
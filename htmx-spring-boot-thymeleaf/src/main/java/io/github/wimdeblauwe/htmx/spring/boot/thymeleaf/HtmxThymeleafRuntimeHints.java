@@ -0,0 +1,31 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+import io.github.wimdeblauwe.htmx.spring.boot.mvc.HtmxRequest;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link RuntimeHintsRegistrar} for the reflection used by the {@link HtmxDialect} and the {@link HtmxThymeleafView},
+ * so that they also work in a native image.
+ * <p>
+ * Templates access the properties of {@code #htmxRequest} reflectively, and the {@code ThymeleafViewResolver}
+ * instantiates its view class reflectively.
+ *
+ * @since 5.2.0
+ */
+class HtmxThymeleafRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String VIEW_RESOLVER_CLASS = "org.thymeleaf.spring6.view.ThymeleafViewResolver";
+
+    @Override
+    public void registerHints(RuntimeHints hints, @Nullable ClassLoader classLoader) {
+        hints.reflection().registerType(HtmxRequest.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        if (ClassUtils.isPresent(VIEW_RESOLVER_CLASS, classLoader)) {
+            hints.reflection().registerType(HtmxThymeleafView.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+
+}
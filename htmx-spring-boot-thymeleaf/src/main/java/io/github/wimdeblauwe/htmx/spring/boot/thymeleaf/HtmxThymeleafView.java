@@ -0,0 +1,107 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.ApplicationContext;
+import org.thymeleaf.spring6.view.ThymeleafView;
+
+import java.util.Map;
+
+/**
+ * A {@link ThymeleafView} that wraps the rendering of every template or fragment in its own {@link Observation}.
+ * <p>
+ * This allows to tell apart the fragments of responses rendered with {@code FragmentsRendering} or
+ * {@code Collection<ModelAndView>}. The observations are named {@value #OBSERVATION_NAME} and tagged with the
+ * template name ({@code htmx.view}), the markup selector of {@code "template :: selector"} view names
+ * ({@code htmx.selector}) and whether the fragment contains an out of band swap ({@code htmx.oob}).
+ * <p>
+ * The view is registered with the {@code ThymeleafViewResolver} automatically, but observations are only recorded
+ * if an {@link ObservationRegistry} bean is available. Independently, each rendering is recorded as a
+ * {@code io.github.wimdeblauwe.htmx.FragmentRendered} JFR event.
+ *
+ * @since 5.2.0
+ */
+public class HtmxThymeleafView extends ThymeleafView {
+
+    /**
+     * The name of the observations.
+     */
+    public static final String OBSERVATION_NAME = "htmx.fragment.render";
+
+    static final String OBSERVATION_CONTEXT_ATTRIBUTE = HtmxFragmentObservationContext.class.getName();
+
+    private ObservationRegistry observationRegistry;
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+
+        Object event = HtmxFragmentFlightRecorder.beginFragmentRendered();
+        try {
+            renderObserved(model, request, response);
+        } finally {
+            HtmxFragmentFlightRecorder.commitFragmentRendered(event, this);
+        }
+    }
+
+    private void renderObserved(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+
+        ObservationRegistry registry = getObservationRegistry();
+        if (registry.isNoop()) {
+            super.render(model, request, response);
+            return;
+        }
+
+        FragmentName fragmentName = getFragmentName();
+        var context = new HtmxFragmentObservationContext();
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, () -> context, registry)
+                                             .contextualName("render " + fragmentName.template())
+                                             .lowCardinalityKeyValue("htmx.view", fragmentName.template())
+                                             .lowCardinalityKeyValue("htmx.selector", fragmentName.selector());
+
+        // exposed to the dialect, which marks the fragment when it encounters an out of band swap
+        Object previousContext = request.getAttribute(OBSERVATION_CONTEXT_ATTRIBUTE);
+        request.setAttribute(OBSERVATION_CONTEXT_ATTRIBUTE, context);
+        observation.start();
+        try (Observation.Scope scope = observation.openScope()) {
+            super.render(model, request, response);
+        } catch (Exception ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            observation.lowCardinalityKeyValue("htmx.oob", Boolean.toString(context.isOob()));
+            observation.stop();
+            request.setAttribute(OBSERVATION_CONTEXT_ATTRIBUTE, previousContext);
+        }
+    }
+
+    /**
+     * Returns the template name and markup selector, since view names like {@code "template :: selector"}
+     * are only split up when rendering.
+     */
+    FragmentName getFragmentName() {
+        String templateName = getTemplateName();
+        String selector = getMarkupSelector();
+        int separator = templateName.indexOf("::");
+        if (separator >= 0) {
+            selector = templateName.substring(separator + 2).trim();
+            templateName = templateName.substring(0, separator).trim();
+        }
+        return new FragmentName(templateName, selector != null ? selector : "none");
+    }
+
+    private ObservationRegistry getObservationRegistry() {
+        if (observationRegistry == null) {
+            ApplicationContext applicationContext = getApplicationContext();
+            observationRegistry = applicationContext != null
+                    ? applicationContext.getBeanProvider(ObservationRegistry.class).getIfAvailable(() -> ObservationRegistry.NOOP)
+                    : ObservationRegistry.NOOP;
+        }
+        return observationRegistry;
+    }
+
+    record FragmentName(String template, String selector) {
+    }
+
+}
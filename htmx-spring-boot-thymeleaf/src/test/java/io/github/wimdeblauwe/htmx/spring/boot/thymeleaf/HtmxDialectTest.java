@@ -141,6 +141,54 @@ class HtmxDialectTest {
         assertThat(html).containsPattern("hx-validate-div.*hx-validate=\"true\"");
     }
 
+    @Test
+    void testHxReplaceUrl() throws Exception {
+        String html = mockMvc.perform(get("/htmx-dialect"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getContentAsString();
+        assertThat(html).containsPattern("hx-replace-url-div.*hx-replace-url=\"/foo\"");
+    }
+
+    @Test
+    void testHxSelectOob() throws Exception {
+        String html = mockMvc.perform(get("/htmx-dialect"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getContentAsString();
+        assertThat(html).containsPattern("hx-select-oob-div.*hx-select-oob=\"#alert\"");
+    }
+
+    @Test
+    void testHxInherit() throws Exception {
+        String html = mockMvc.perform(get("/htmx-dialect"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getContentAsString();
+        assertThat(html).containsPattern("hx-inherit-div.*hx-inherit=\"hx-target\"");
+    }
+
+    @Test
+    void testHxHistory() throws Exception {
+        String html = mockMvc.perform(get("/htmx-dialect"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getContentAsString();
+        assertThat(html).containsPattern("hx-history-div.*hx-history=\"false\"");
+    }
+
+    @Test
+    void testHxDisabledElt() throws Exception {
+        String html = mockMvc.perform(get("/htmx-dialect"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getContentAsString();
+        assertThat(html).containsPattern("hx-disabled-elt-div.*hx-disabled-elt=\"this\"");
+    }
+
+    @Test
+    void testHxRequestWithMap() throws Exception {
+        String html = mockMvc.perform(get("/htmx-dialect"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getContentAsString();
+        assertThat(html).containsPattern("hx-request-div.*hx-request=\"\\{&quot;timeout&quot;:12345}\"");
+    }
+
     @Test
     public void testHtmxRequestExpressionObject() throws Exception {
         mockMvc.perform(get("/htmx-dialect-expression-object-factory")
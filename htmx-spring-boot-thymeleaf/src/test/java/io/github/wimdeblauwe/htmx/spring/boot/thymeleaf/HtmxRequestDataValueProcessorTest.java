@@ -0,0 +1,89 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.security.autoconfigure.SecurityAutoConfiguration;
+import org.springframework.boot.security.autoconfigure.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.security.autoconfigure.web.servlet.ServletWebSecurityAutoConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.support.RequestDataValueProcessor;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that only attributes taking a URL are passed through the {@link RequestDataValueProcessor}.
+ *
+ * @since 5.2.0
+ */
+@WebMvcTest(controllers = HtmxDialectTestController.class,
+        excludeAutoConfiguration = {SecurityAutoConfiguration.class, ServletWebSecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class})
+@ContextConfiguration(classes = {HtmxDialectTestController.class, HtmxRequestDataValueProcessorTest.ProcessorConfig.class})
+class HtmxRequestDataValueProcessorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testUrlAttributesAreProcessed() throws Exception {
+        String html = mockMvc.perform(get("/htmx-dialect"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getContentAsString();
+        assertThat(html)
+                .containsPattern("hx-get-div.*hx-get=\"/foo\\?processed\"")
+                .containsPattern("hx-post-div.*hx-post=\"/foo\\?processed\"")
+                .containsPattern("hx-replace-url-div.*hx-replace-url=\"/foo\\?processed\"");
+    }
+
+    @Test
+    void testNonUrlAttributesAreNotProcessed() throws Exception {
+        String html = mockMvc.perform(get("/htmx-dialect"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getContentAsString();
+        assertThat(html)
+                .containsPattern("hx-target-div.*hx-target=\"#some-div\"")
+                .containsPattern("hx-trigger-div.*hx-trigger=\"reveal\"")
+                .containsPattern("hx-swap-div.*hx-swap=\"outerHTML\"")
+                .doesNotContainPattern("hx-vals-div-boolean.*processed");
+    }
+
+    @Configuration
+    static class ProcessorConfig {
+
+        @Bean
+        RequestDataValueProcessor requestDataValueProcessor() {
+            return new RequestDataValueProcessor() {
+
+                @Override
+                public String processAction(HttpServletRequest request, String action, String httpMethod) {
+                    return action;
+                }
+
+                @Override
+                public String processFormFieldValue(HttpServletRequest request, String name, String value, String type) {
+                    return value;
+                }
+
+                @Override
+                public Map<String, String> getExtraHiddenFields(HttpServletRequest request) {
+                    return null;
+                }
+
+                @Override
+                public String processUrl(HttpServletRequest request, String url) {
+                    return url + "?processed";
+                }
+            };
+        }
+
+    }
+
+}
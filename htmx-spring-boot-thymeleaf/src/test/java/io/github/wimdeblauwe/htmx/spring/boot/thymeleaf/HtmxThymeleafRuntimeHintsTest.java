@@ -0,0 +1,31 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+import io.github.wimdeblauwe.htmx.spring.boot.mvc.HtmxRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtmxThymeleafRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new HtmxThymeleafRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testHtmxRequestPropertiesAreRegistered() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(HtmxRequest.class.getMethod("getTarget"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(HtmxRequest.class.getMethod("isBoosted"))).accepts(hints);
+    }
+
+    @Test
+    void testViewIsRegistered() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onConstructorInvocation(HtmxThymeleafView.class.getConstructor())).accepts(hints);
+    }
+
+}
@@ -0,0 +1,133 @@
+package io.github.wimdeblauwe.htmx.spring.boot.thymeleaf;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.view.FragmentsRendering;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(HtmxThymeleafViewTest.FragmentsController.class)
+@ContextConfiguration(classes = {HtmxThymeleafViewTest.FragmentsController.class, HtmxThymeleafViewTest.ObservationConfig.class})
+@WithMockUser
+class HtmxThymeleafViewTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private List<Observation.Context> observations;
+
+    @BeforeEach
+    void setUp() {
+        observations.clear();
+    }
+
+    @Test
+    void testEachFragmentIsObserved() throws Exception {
+        mockMvc.perform(get("/fragments"))
+               .andExpect(status().isOk());
+
+        assertThat(observations)
+                .extracting(context -> context.getLowCardinalityKeyValue("htmx.view").getValue()
+                                       + " :: " + context.getLowCardinalityKeyValue("htmx.selector").getValue()
+                                       + " oob=" + context.getLowCardinalityKeyValue("htmx.oob").getValue())
+                .containsExactly("htmx-fragments :: list oob=false",
+                                 "htmx-fragments :: count oob=true",
+                                 "htmx-fragments :: total oob=true");
+        assertThat(observations).allSatisfy(context -> assertThat(context.getName()).isEqualTo(HtmxThymeleafView.OBSERVATION_NAME));
+    }
+
+    @Test
+    void testTemplateWithoutSelectorIsObserved() throws Exception {
+        mockMvc.perform(get("/htmx-dialect"))
+               .andExpect(status().isOk());
+
+        assertThat(observations)
+                .singleElement()
+                .satisfies(context -> assertThat(context.getLowCardinalityKeyValue("htmx.selector").getValue()).isEqualTo("none"));
+    }
+
+    @Test
+    void testEachFragmentIsRecordedAsJfrEvent(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("htmx.jfr");
+        try (var recording = new Recording()) {
+            recording.enable("io.github.wimdeblauwe.htmx.FragmentRendered");
+            recording.start();
+            mockMvc.perform(get("/fragments"))
+                   .andExpect(status().isOk());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file))
+                .filteredOn(event -> event.getEventType().getName().equals("io.github.wimdeblauwe.htmx.FragmentRendered"))
+                .extracting(event -> event.getString("template") + " :: " + event.getString("selector"))
+                .containsExactly("htmx-fragments :: list",
+                                 "htmx-fragments :: count",
+                                 "htmx-fragments :: total");
+    }
+
+    @Controller
+    static class FragmentsController extends HtmxDialectTestController {
+
+        @GetMapping("/fragments")
+        public View fragments() {
+            return FragmentsRendering.fragment("htmx-fragments :: list")
+                                     .fragment("htmx-fragments :: count")
+                                     .fragment("htmx-fragments :: total")
+                                     .build();
+        }
+
+    }
+
+    @Configuration
+    static class ObservationConfig {
+
+        @Bean
+        List<Observation.Context> observations() {
+            return new CopyOnWriteArrayList<>();
+        }
+
+        @Bean
+        ObservationRegistry observationRegistry(List<Observation.Context> observations) {
+            ObservationRegistry registry = ObservationRegistry.create();
+            registry.observationConfig().observationHandler(new ObservationHandler<>() {
+
+                @Override
+                public void onStop(Observation.Context context) {
+                    observations.add(context);
+                }
+
+                @Override
+                public boolean supportsContext(Observation.Context context) {
+                    return context instanceof HtmxFragmentObservationContext;
+                }
+            });
+            return registry;
+        }
+
+    }
+
+}
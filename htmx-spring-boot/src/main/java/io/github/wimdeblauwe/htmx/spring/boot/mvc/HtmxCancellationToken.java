@@ -0,0 +1,165 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.github.wimdeblauwe.htmx.spring.boot.mvc.HtmxRequestHeader.*;
+
+/**
+ * This class can be used as a controller method argument to detect that the request has been superseded
+ * by a newer request of the same client, e.g. when using {@code hx-sync="this:replace"}.
+ * <p>
+ * htmx aborts the superseded request on the client, but the server would otherwise keep handling it to completion.
+ * A request is superseded when a newer htmx request arrives for the same session, URL, {@code HX-Trigger}
+ * and {@code HX-Target}. Requests without a session are never superseded.
+ *
+ * <pre>
+ * {@code
+ * @GetMapping("/search")
+ * @HxRequest
+ * public String search(String query, HtmxCancellationToken cancellationToken, Model model) {
+ *     for (Result result : repository.search(query)) {
+ *         cancellationToken.throwIfCancelled();
+ *         ...
+ *     }
+ * }
+ * }
+ * </pre>
+ * <p>
+ * The thread handling the request is never interrupted. Long-running operations that cannot check the token
+ * themselves can register a callback with {@link #onCancel(Runnable)}, e.g. to cancel a JDBC statement.
+ *
+ * @since 5.2.0
+ */
+public final class HtmxCancellationToken {
+
+    private static final Log logger = LogFactory.getLog(HtmxCancellationToken.class);
+
+    private final Map<String, HtmxCancellationToken> registry;
+    private final String key;
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    private HtmxCancellationToken(Map<String, HtmxCancellationToken> registry, String key) {
+        this.registry = registry;
+        this.key = key;
+    }
+
+    /**
+     * Create a new token for the given request, cancelling the token of the request it supersedes, if any.
+     * <p>
+     * The token is stored as a request attribute and must be {@link #release released} once the request completes.
+     */
+    static HtmxCancellationToken register(Map<String, HtmxCancellationToken> registry, HttpServletRequest request) {
+
+        HtmxCancellationToken token = RequestContextUtils.getCancellationToken(request);
+        if (token != null) {
+            return token;
+        }
+
+        String key = createKey(request);
+        token = new HtmxCancellationToken(registry, key);
+        if (key != null) {
+            HtmxCancellationToken superseded = registry.put(key, token);
+            if (superseded != null) {
+                superseded.cancel();
+            }
+        }
+        request.setAttribute(RequestContextUtils.HTMX_CANCELLATION_TOKEN_CONTEXT_ATTRIBUTE, token);
+        return token;
+    }
+
+    private static String createKey(HttpServletRequest request) {
+
+        if (request.getHeader(HX_REQUEST.getValue()) == null) {
+            return null;
+        }
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return null;
+        }
+        return session.getId() + '\n' + request.getRequestURI()
+               + '\n' + Objects.toString(request.getHeader(HX_TRIGGER.getValue()), "")
+               + '\n' + Objects.toString(request.getHeader(HX_TARGET.getValue()), "");
+    }
+
+    /**
+     * Whether the request has been superseded by a newer request.
+     *
+     * @return {@code true} if the request has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Throw a {@link CancellationException} if the request has been superseded by a newer request.
+     *
+     * @throws CancellationException if the request has been cancelled
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("htmx request has been superseded by a newer request");
+        }
+    }
+
+    /**
+     * Register a callback that is invoked once the request is superseded by a newer request.
+     * <p>
+     * The callback is invoked on the thread handling the newer request, or immediately
+     * if the request has already been cancelled. Exceptions thrown by the callback are logged and do not affect
+     * the newer request.
+     *
+     * @param callback the callback to invoke
+     */
+    public void onCancel(Runnable callback) {
+        Assert.notNull(callback, "callback should not be null");
+        synchronized (callbacks) {
+            if (!cancelled) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    private void cancel() {
+        List<Runnable> toRun;
+        synchronized (callbacks) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = new ArrayList<>(callbacks);
+            callbacks.clear();
+        }
+        // the callbacks run on the thread of the newer request, which must not fail because of them
+        for (Runnable callback : toRun) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                logger.warn("Cancellation callback of superseded htmx request failed", e);
+            }
+        }
+    }
+
+    /**
+     * Stop tracking the request once it has completed.
+     */
+    void release() {
+        if (key != null) {
+            registry.remove(key, this);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves {@link HtmxCancellationToken} method arguments, keeping track of the tokens of the requests in flight.
+ *
+ * @since 5.2.0
+ */
+public class HtmxCancellationTokenHandlerMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final Map<String, HtmxCancellationToken> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == HtmxCancellationToken.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  @Nullable ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  @Nullable WebDataBinderFactory binderFactory) throws Exception {
+
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        Assert.notNull(request, "HttpServletRequest must not be null");
+
+        return HtmxCancellationToken.register(tokens, request);
+    }
+
+}
@@ -0,0 +1,153 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.View;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.StringJoiner;
+
+/**
+ * Records the JFR events of the library, if the {@code jdk.jfr} module is available.
+ * <p>
+ * The events are only referenced by the nested {@link Events} class, so that the library also works on runtimes
+ * without that module. The {@code begin} methods return the started event as an opaque object, or {@code null} if
+ * the event is not enabled, which has to be passed to the corresponding {@code commit} method. The event fields are
+ * only computed if the event is actually committed.
+ *
+ * @since 5.2.0
+ */
+final class HtmxFlightRecorder {
+
+    private static final boolean JFR_PRESENT = ClassUtils.isPresent("jdk.jfr.Event", HtmxFlightRecorder.class.getClassLoader());
+
+    private HtmxFlightRecorder() {
+    }
+
+    @Nullable
+    static Object beginRequestParsed() {
+        return JFR_PRESENT ? Events.beginRequestParsed() : null;
+    }
+
+    static void commitRequestParsed(@Nullable Object event, HttpServletRequest request, HtmxRequest htmxRequest) {
+        if (event != null) {
+            Events.commitRequestParsed(event, request, htmxRequest);
+        }
+    }
+
+    @Nullable
+    static Object beginHeadersApplied(HttpServletResponse response) {
+        return JFR_PRESENT ? Events.beginHeadersApplied(response) : null;
+    }
+
+    /**
+     * Commits the event started by {@link #beginHeadersApplied}.
+     *
+     * @param handlerMethod the handler method whose annotations were applied, or {@code null} for an {@link HtmxResponse}
+     */
+    static void commitHeadersApplied(@Nullable Object event, @Nullable Method handlerMethod, HttpServletResponse response, boolean limited) {
+        if (event != null) {
+            Events.commitHeadersApplied(event, handlerMethod, response, limited);
+        }
+    }
+
+    @Nullable
+    static Object beginViewResolved() {
+        return JFR_PRESENT ? Events.beginViewResolved() : null;
+    }
+
+    static void commitViewResolved(@Nullable Object event, String viewName, View view) {
+        if (event != null) {
+            Events.commitViewResolved(event, viewName, view);
+        }
+    }
+
+    private static final class Events {
+
+        @Nullable
+        static Object beginRequestParsed() {
+            var event = new HtmxRequestParsedEvent();
+            if (!event.isEnabled()) {
+                return null;
+            }
+            event.begin();
+            return event;
+        }
+
+        static void commitRequestParsed(Object recorded, HttpServletRequest request, HtmxRequest htmxRequest) {
+            var event = (HtmxRequestParsedEvent) recorded;
+            if (event.shouldCommit()) {
+                event.uri = request.getRequestURI();
+                event.boosted = htmxRequest.isBoosted();
+                event.historyRestoreRequest = htmxRequest.isHistoryRestoreRequest();
+                event.preloaded = htmxRequest.isPreloaded();
+                event.target = htmxRequest.getTarget();
+                event.trigger = htmxRequest.getTriggerId();
+                event.triggerName = htmxRequest.getTriggerName();
+                event.commit();
+            }
+        }
+
+        @Nullable
+        static Object beginHeadersApplied(HttpServletResponse response) {
+            var event = new HtmxHeadersAppliedEvent();
+            if (!event.isEnabled()) {
+                return null;
+            }
+            // the existing headers are only collected while the event is recorded, to tell the added headers apart
+            event.existingHeaders = new HashSet<>(response.getHeaderNames());
+            event.begin();
+            return event;
+        }
+
+        static void commitHeadersApplied(Object recorded, @Nullable Method handlerMethod, HttpServletResponse response, boolean limited) {
+            var event = (HtmxHeadersAppliedEvent) recorded;
+            if (!event.shouldCommit()) {
+                return;
+            }
+
+            var headers = new StringJoiner(",");
+            long size = 0;
+            for (String name : response.getHeaderNames()) {
+                if (!event.existingHeaders.contains(name)) {
+                    headers.add(name);
+                    for (String value : response.getHeaders(name)) {
+                        size += name.length() + value.length();
+                    }
+                }
+            }
+            if (size > 0) {
+                event.source = handlerMethod != null
+                        ? handlerMethod.getDeclaringClass().getSimpleName() + "#" + handlerMethod.getName()
+                        : HtmxResponse.class.getSimpleName();
+                event.headers = headers.toString();
+                event.size = size;
+                event.limited = limited;
+                event.commit();
+            }
+        }
+
+        @Nullable
+        static Object beginViewResolved() {
+            var event = new HtmxViewResolvedEvent();
+            if (!event.isEnabled()) {
+                return null;
+            }
+            event.begin();
+            return event;
+        }
+
+        static void commitViewResolved(Object recorded, String viewName, View view) {
+            var event = (HtmxViewResolvedEvent) recorded;
+            if (event.shouldCommit()) {
+                event.viewName = viewName;
+                event.viewType = view.getClass();
+                event.commit();
+            }
+        }
+    }
+
+}
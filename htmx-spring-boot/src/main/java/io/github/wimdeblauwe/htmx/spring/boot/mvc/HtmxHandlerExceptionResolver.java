@@ -0,0 +1,86 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.web.method.ControllerAdviceBean;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorates the {@link ExceptionHandlerExceptionResolver} configured by Spring MVC to handle the htmx annotations
+ * present on exception handler methods, and the {@link HtmxResponse} of the request, like
+ * {@link HtmxExceptionHandlerExceptionResolver} does without replacing the resolver.
+ *
+ * @since 5.2.0
+ */
+final class HtmxHandlerExceptionResolver implements HandlerExceptionResolver {
+
+    private final ExceptionHandlerExceptionResolver delegate;
+    private final HtmxHandlerMethodHandler htmxHandlerMethodHandler;
+    private final Map<Class<?>, ExceptionHandlerMethodResolver> exceptionHandlerCache = new ConcurrentHashMap<>();
+
+    HtmxHandlerExceptionResolver(ExceptionHandlerExceptionResolver delegate, HtmxHandlerMethodHandler htmxHandlerMethodHandler) {
+        this.delegate = delegate;
+        this.htmxHandlerMethodHandler = htmxHandlerMethodHandler;
+    }
+
+    @Override
+    @Nullable
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, @Nullable Object handler, Exception exception) {
+
+        if (handler == null || handler instanceof HandlerMethod) {
+            Method method = getExceptionHandlerMethod((HandlerMethod) handler, exception);
+            if (method != null) {
+                htmxHandlerMethodHandler.handleMethodAnnotations(method, request, response);
+            }
+        }
+
+        ModelAndView modelAndView = delegate.resolveException(request, response, handler, exception);
+
+        htmxHandlerMethodHandler.handleMethodArgument(request, response);
+
+        return modelAndView;
+    }
+
+    /**
+     * Finds the exception handler method the delegate invokes, first in the controller and then in the
+     * applicable controller advice, see {@link ExceptionHandlerExceptionResolver#getExceptionHandlerMethod}.
+     */
+    @Nullable
+    private Method getExceptionHandlerMethod(@Nullable HandlerMethod handlerMethod, Exception exception) {
+
+        Class<?> handlerType = null;
+        if (handlerMethod != null) {
+            handlerType = handlerMethod.getBeanType();
+            Method method = exceptionHandlerCache.computeIfAbsent(handlerType, ExceptionHandlerMethodResolver::new)
+                                                 .resolveMethodByThrowable(exception);
+            if (method != null) {
+                return method;
+            }
+            if (Proxy.isProxyClass(handlerType)) {
+                handlerType = AopUtils.getTargetClass(handlerMethod.getBean());
+            }
+        }
+
+        for (Map.Entry<ControllerAdviceBean, ExceptionHandlerMethodResolver> entry : delegate.getExceptionHandlerAdviceCache().entrySet()) {
+            if (entry.getKey().isApplicableToBeanType(handlerType)) {
+                Method method = entry.getValue().resolveMethodByThrowable(exception);
+                if (method != null) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+}
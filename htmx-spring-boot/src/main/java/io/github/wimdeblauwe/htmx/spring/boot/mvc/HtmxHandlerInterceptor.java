@@ -13,6 +13,7 @@ import org.springframework.web.servlet.ModelAndView;
 public class HtmxHandlerInterceptor implements HandlerInterceptor {
 
     private final HtmxHandlerMethodHandler htmxHandlerMethodHandler;
+    private final HtmxRateLimiter rateLimiter = new HtmxRateLimiter();
 
     public HtmxHandlerInterceptor(HtmxHandlerMethodHandler htmxHandlerMethodHandler) {
         this.htmxHandlerMethodHandler = htmxHandlerMethodHandler;
@@ -31,12 +32,26 @@ public class HtmxHandlerInterceptor implements HandlerInterceptor {
         setVary(request, response);
 
         if (handler instanceof HandlerMethod handlerMethod) {
+            if (!rateLimiter.tryAcquire(handlerMethod.getMethod(), request)) {
+                // let htmx keep the current content instead of invoking the handler
+                response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+                response.setHeader(HtmxResponseHeader.HX_RESWAP.getValue(), HxSwapType.NONE.getValue());
+                return false;
+            }
             htmxHandlerMethodHandler.handleMethodAnnotations(handlerMethod.getMethod(), request, response);
         }
 
         return true;
     }
 
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        HtmxCancellationToken cancellationToken = RequestContextUtils.getCancellationToken(request);
+        if (cancellationToken != null) {
+            cancellationToken.release();
+        }
+    }
+
     private void setVary(HttpServletRequest request, HttpServletResponse response) {
         if (request.getHeader(HtmxRequestHeader.HX_REQUEST.getValue()) != null) {
             response.addHeader(HttpHeaders.VARY, HtmxRequestHeader.HX_REQUEST.getValue());
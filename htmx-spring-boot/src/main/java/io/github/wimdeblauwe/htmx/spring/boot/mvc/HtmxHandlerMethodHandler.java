@@ -2,14 +2,26 @@ package io.github.wimdeblauwe.htmx.spring.boot.mvc;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.servlet.HandlerMapping;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
 
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -19,19 +31,51 @@ import java.util.stream.Collectors;
  */
 class HtmxHandlerMethodHandler {
 
-    private final ObjectMapper objectMapper;
+    private static final Log logger = LogFactory.getLog(HtmxHandlerMethodHandler.class);
+
+    private final SingletonSupplier<ObjectMapper> objectMapper;
+    private final long maxTriggerHeaderSize;
+    private final Map<Method, HeaderPlan> headerPlans = new ConcurrentHashMap<>();
 
     public HtmxHandlerMethodHandler(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        this(objectMapper, -1);
+    }
+
+    /**
+     * Create a handler that limits the size of the trigger headers of an {@link HtmxResponse}.
+     * <p>
+     * If the trigger headers together exceed the given size in bytes, the event details of the largest headers are
+     * dropped, until the headers fit or only the event names are left, so that the response does not exceed the
+     * header size limit of a proxy. A warning is logged whenever event details are dropped.
+     *
+     * @param objectMapper         the mapper used to serialize event details
+     * @param maxTriggerHeaderSize the maximum size of the trigger headers in bytes, or {@code -1} for no limit
+     * @since 5.2.0
+     */
+    public HtmxHandlerMethodHandler(ObjectMapper objectMapper, long maxTriggerHeaderSize) {
+        this(() -> objectMapper, maxTriggerHeaderSize);
+    }
+
+    /**
+     * Create a handler that obtains the mapper used to serialize event details on first use, so that it is
+     * not created at all by applications that do not use event details.
+     *
+     * @param objectMapper         the supplier of the mapper used to serialize event details
+     * @param maxTriggerHeaderSize the maximum size of the trigger headers in bytes, or {@code -1} for no limit
+     * @since 5.2.0
+     */
+    public HtmxHandlerMethodHandler(Supplier<ObjectMapper> objectMapper, long maxTriggerHeaderSize) {
+        this.objectMapper = SingletonSupplier.of(objectMapper);
+        this.maxTriggerHeaderSize = maxTriggerHeaderSize;
     }
 
     public void handleMethodArgument(HttpServletRequest request, HttpServletResponse response) {
 
         HtmxResponse htmxResponse = RequestContextUtils.getHtmxResponse(request);
         if (htmxResponse != null) {
-            addHxTriggerHeaders(response, HtmxResponseHeader.HX_TRIGGER, htmxResponse.getTriggers());
-            addHxTriggerHeaders(response, HtmxResponseHeader.HX_TRIGGER_AFTER_SETTLE, htmxResponse.getTriggersAfterSettle());
-            addHxTriggerHeaders(response, HtmxResponseHeader.HX_TRIGGER_AFTER_SWAP, htmxResponse.getTriggersAfterSwap());
+            Object event = HtmxFlightRecorder.beginHeadersApplied(response);
+
+            boolean limited = addHxTriggerHeaders(request, response, htmxResponse);
 
             if (htmxResponse.getReplaceUrl() != null) {
                 response.setHeader(HtmxResponseHeader.HX_REPLACE_URL.getValue(), RequestContextUtils.createUrl(request, htmxResponse.getReplaceUrl(), htmxResponse.isContextRelative()));
@@ -48,114 +92,155 @@ class HtmxHandlerMethodHandler {
             if (htmxResponse.getReswap() != null) {
                 response.setHeader(HtmxResponseHeader.HX_RESWAP.getValue(), htmxResponse.getReswap().toHeaderValue());
             }
+
+            HtmxFlightRecorder.commitHeadersApplied(event, null, response, limited);
         }
     }
 
     public void handleMethodAnnotations(Method method, HttpServletRequest request, HttpServletResponse response) {
 
-        setHxPushUrl(request, response, method);
-        setHxReplaceUrl(request, response, method);
-        setHxReswap(response, method);
-        setHxRetarget(response, method);
-        setHxReselect(response, method);
-        setHxTrigger(response, method);
-        setHxTriggerAfterSettle(response, method);
-        setHxTriggerAfterSwap(response, method);
+        HeaderPlan headerPlan = headerPlans.computeIfAbsent(method, this::createHeaderPlan);
+        if (headerPlan.isEmpty()) {
+            return;
+        }
+
+        Object event = HtmxFlightRecorder.beginHeadersApplied(response);
+
+        headerPlan.apply(request, response);
+
+        HtmxFlightRecorder.commitHeadersApplied(event, method, response, false);
+    }
+
+    /**
+     * Adds the trigger headers of the given {@link HtmxResponse}, and returns whether event details
+     * were dropped because the headers would exceed the maximum size.
+     */
+    private boolean addHxTriggerHeaders(HttpServletRequest request, HttpServletResponse response, HtmxResponse htmxResponse) {
+
+        var headers = new EnumMap<HtmxResponseHeader, String>(HtmxResponseHeader.class);
+        addHxTriggerHeader(headers, HtmxResponseHeader.HX_TRIGGER, htmxResponse.getTriggers(), true);
+        addHxTriggerHeader(headers, HtmxResponseHeader.HX_TRIGGER_AFTER_SETTLE, htmxResponse.getTriggersAfterSettle(), true);
+        addHxTriggerHeader(headers, HtmxResponseHeader.HX_TRIGGER_AFTER_SWAP, htmxResponse.getTriggersAfterSwap(), true);
+
+        long size = getSize(headers);
+        boolean limited = maxTriggerHeaderSize >= 0 && size > maxTriggerHeaderSize;
+        if (limited) {
+            Set<HtmxResponseHeader> stripped = dropEventDetails(headers, htmxResponse);
+            if (logger.isWarnEnabled()) {
+                Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                logger.warn("Dropped the event details of " + stripped + " for " + (handler != null ? handler : request.getRequestURI()) +
+                            ", since the trigger headers of " + size + " bytes exceed the maximum of " + maxTriggerHeaderSize +
+                            " bytes; " + getSize(headers) + " bytes were sent");
+            }
+        }
+
+        headers.forEach((header, value) -> response.setHeader(header.getValue(), value));
+        return limited;
     }
 
-    private void addHxTriggerHeaders(HttpServletResponse response, HtmxResponseHeader headerName, Collection<HtmxTrigger> triggers) {
+    /**
+     * Replaces the largest trigger headers by their event names only, until the headers fit the maximum size,
+     * and returns the headers whose event details were dropped. The events are still triggered on the client,
+     * only their details are lost.
+     */
+    private Set<HtmxResponseHeader> dropEventDetails(Map<HtmxResponseHeader, String> headers, HtmxResponse htmxResponse) {
+
+        var stripped = EnumSet.noneOf(HtmxResponseHeader.class);
+        while (getSize(headers) > maxTriggerHeaderSize) {
+            HtmxResponseHeader largest = null;
+            for (Map.Entry<HtmxResponseHeader, String> header : headers.entrySet()) {
+                if (!stripped.contains(header.getKey()) && (largest == null || header.getValue().length() > headers.get(largest).length())) {
+                    largest = header.getKey();
+                }
+            }
+            if (largest == null) {
+                break;
+            }
+            addHxTriggerHeader(headers, largest, getTriggers(htmxResponse, largest), false);
+            stripped.add(largest);
+        }
+        return stripped;
+    }
+
+    private static Collection<HtmxTrigger> getTriggers(HtmxResponse htmxResponse, HtmxResponseHeader header) {
+        return switch (header) {
+            case HX_TRIGGER -> htmxResponse.getTriggers();
+            case HX_TRIGGER_AFTER_SETTLE -> htmxResponse.getTriggersAfterSettle();
+            case HX_TRIGGER_AFTER_SWAP -> htmxResponse.getTriggersAfterSwap();
+            default -> throw new IllegalArgumentException("Not a trigger header: " + header);
+        };
+    }
+
+    private void addHxTriggerHeader(Map<HtmxResponseHeader, String> headers, HtmxResponseHeader headerName, Collection<HtmxTrigger> triggers, boolean withDetails) {
         if (triggers.isEmpty()) {
             return;
         }
 
         // separate event names by commas if no additional details are available
-        if (triggers.stream().allMatch(t -> t.getEventDetail() == null)) {
+        if (!withDetails || triggers.stream().allMatch(t -> t.getEventDetail() == null)) {
             String value = triggers.stream()
                                    .map(HtmxTrigger::getEventName)
+                                   .distinct()
                                    .collect(Collectors.joining(","));
 
-            response.setHeader(headerName.getValue(), value);
+            headers.put(headerName, value);
             return;
         }
 
-        // multiple events with or without details
-        var triggerMap = new HashMap<String, Object>();
+        // multiple events with or without details, kept in the order they were added so that the
+        // header value is deterministic and the events are triggered in that order
+        var triggerMap = new LinkedHashMap<String, Object>();
         for (HtmxTrigger trigger : triggers) {
             triggerMap.put(trigger.getEventName(), trigger.getEventDetail());
         }
-        setHeaderJsonValue(response, headerName, triggerMap);
+        headers.put(headerName, toJson(headerName, triggerMap));
     }
 
-    private void setHxPushUrl(HttpServletRequest request, HttpServletResponse response, Method method) {
-        HxPushUrl methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, HxPushUrl.class);
-        if (methodAnnotation != null) {
-            if (HtmxValue.TRUE.equals(methodAnnotation.value())) {
-                setHeader(response, HtmxResponseHeader.HX_PUSH_URL, getRequestUrl(request));
-            } else {
-                setHeader(response, HtmxResponseHeader.HX_PUSH_URL, RequestContextUtils.createUrl(request, methodAnnotation.value(), methodAnnotation.contextRelative()));
-            }
+    private static long getSize(Map<HtmxResponseHeader, String> headers) {
+        long size = 0;
+        for (Map.Entry<HtmxResponseHeader, String> header : headers.entrySet()) {
+            size += header.getKey().getValue().length() + header.getValue().getBytes(StandardCharsets.UTF_8).length;
         }
+        return size;
     }
 
-    private void setHxReplaceUrl(HttpServletRequest request, HttpServletResponse response, Method method) {
-        HxReplaceUrl methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, HxReplaceUrl.class);
-        if (methodAnnotation != null) {
-            if (HtmxValue.TRUE.equals(methodAnnotation.value())) {
-                setHeader(response, HtmxResponseHeader.HX_REPLACE_URL, getRequestUrl(request));
-            } else {
-                setHeader(response, HtmxResponseHeader.HX_REPLACE_URL, RequestContextUtils.createUrl(request, methodAnnotation.value(), methodAnnotation.contextRelative()));
-            }
-        }
-    }
+    /**
+     * Reads the annotations of the given handler method once, and resolves all header values that do not depend
+     * on the request.
+     */
+    private HeaderPlan createHeaderPlan(Method method) {
 
-    private void setHxReswap(HttpServletResponse response, Method method) {
-        HxReswap methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, HxReswap.class);
-        if (methodAnnotation != null) {
-            setHeader(response, HtmxResponseHeader.HX_RESWAP, convertToReswap(methodAnnotation));
-        }
-    }
+        var headers = new LinkedHashMap<String, String>();
 
-    private void setHxRetarget(HttpServletResponse response, Method method) {
-        HxRetarget methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, HxRetarget.class);
-        if (methodAnnotation != null) {
-            setHeader(response, HtmxResponseHeader.HX_RETARGET, methodAnnotation.value());
+        HxReswap reswap = AnnotatedElementUtils.findMergedAnnotation(method, HxReswap.class);
+        if (reswap != null) {
+            headers.put(HtmxResponseHeader.HX_RESWAP.getValue(), convertToReswap(reswap));
         }
-    }
-
-    private void setHxReselect(HttpServletResponse response, Method method) {
-        HxReselect methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, HxReselect.class);
-        if (methodAnnotation != null) {
-            setHeader(response, HtmxResponseHeader.HX_RESELECT, methodAnnotation.value());
+        HxRetarget retarget = AnnotatedElementUtils.findMergedAnnotation(method, HxRetarget.class);
+        if (retarget != null) {
+            headers.put(HtmxResponseHeader.HX_RETARGET.getValue(), retarget.value());
         }
-    }
-
-    private void setHxTrigger(HttpServletResponse response, Method method) {
-        HxTrigger methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, HxTrigger.class);
-        if (methodAnnotation != null) {
-            setHeader(response, HtmxResponseHeader.HX_TRIGGER, methodAnnotation.value());
+        HxReselect reselect = AnnotatedElementUtils.findMergedAnnotation(method, HxReselect.class);
+        if (reselect != null) {
+            headers.put(HtmxResponseHeader.HX_RESELECT.getValue(), reselect.value());
         }
-    }
-
-    private void setHxTriggerAfterSettle(HttpServletResponse response, Method method) {
-        HxTriggerAfterSettle methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, HxTriggerAfterSettle.class);
-        if (methodAnnotation != null) {
-            setHeader(response, HtmxResponseHeader.HX_TRIGGER_AFTER_SETTLE, methodAnnotation.value());
+        HxTrigger trigger = AnnotatedElementUtils.findMergedAnnotation(method, HxTrigger.class);
+        if (trigger != null) {
+            headers.put(HtmxResponseHeader.HX_TRIGGER.getValue(), String.join(",", trigger.value()));
         }
-    }
-
-    private void setHxTriggerAfterSwap(HttpServletResponse response, Method method) {
-        HxTriggerAfterSwap methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, HxTriggerAfterSwap.class);
-        if (methodAnnotation != null) {
-            setHeader(response, HtmxResponseHeader.HX_TRIGGER_AFTER_SWAP, methodAnnotation.value());
+        HxTriggerAfterSettle triggerAfterSettle = AnnotatedElementUtils.findMergedAnnotation(method, HxTriggerAfterSettle.class);
+        if (triggerAfterSettle != null) {
+            headers.put(HtmxResponseHeader.HX_TRIGGER_AFTER_SETTLE.getValue(), String.join(",", triggerAfterSettle.value()));
+        }
+        HxTriggerAfterSwap triggerAfterSwap = AnnotatedElementUtils.findMergedAnnotation(method, HxTriggerAfterSwap.class);
+        if (triggerAfterSwap != null) {
+            headers.put(HtmxResponseHeader.HX_TRIGGER_AFTER_SWAP.getValue(), String.join(",", triggerAfterSwap.value()));
         }
-    }
-
-    private void setHeader(HttpServletResponse response, HtmxResponseHeader header, String value) {
-        response.setHeader(header.getValue(), value);
-    }
 
-    private void setHeader(HttpServletResponse response, HtmxResponseHeader header, String[] values) {
-        response.setHeader(header.getValue(), String.join(",", values));
+        return new HeaderPlan(
+                AnnotatedElementUtils.findMergedAnnotation(method, HxPushUrl.class),
+                AnnotatedElementUtils.findMergedAnnotation(method, HxReplaceUrl.class),
+                headers);
     }
 
     private String convertToReswap(HxReswap annotation) {
@@ -198,7 +283,7 @@ class HtmxHandlerMethodHandler {
         };
     }
 
-    private String getRequestUrl(HttpServletRequest request) {
+    private static String getRequestUrl(HttpServletRequest request) {
         String path = request.getRequestURI();
         String queryString = request.getQueryString();
 
@@ -208,12 +293,37 @@ class HtmxHandlerMethodHandler {
         return path;
     }
 
-    private void setHeaderJsonValue(HttpServletResponse response, HtmxResponseHeader header, Object value) {
+    private String toJson(HtmxResponseHeader header, Object value) {
         try {
-            response.setHeader(header.getValue(), objectMapper.writeValueAsString(value));
+            return objectMapper.obtain().writeValueAsString(value);
         } catch (JacksonException e) {
             throw new IllegalArgumentException("Unable to set header " + header.getValue() + " to " + value, e);
         }
     }
 
+    /**
+     * The response headers to add for the annotations of a handler method. Only the URLs of {@link HxPushUrl}
+     * and {@link HxReplaceUrl} depend on the request, all other values are resolved up front.
+     */
+    private record HeaderPlan(@Nullable HxPushUrl pushUrl, @Nullable HxReplaceUrl replaceUrl, Map<String, String> headers) {
+
+        boolean isEmpty() {
+            return pushUrl == null && replaceUrl == null && headers.isEmpty();
+        }
+
+        void apply(HttpServletRequest request, HttpServletResponse response) {
+            if (pushUrl != null) {
+                response.setHeader(HtmxResponseHeader.HX_PUSH_URL.getValue(), HtmxValue.TRUE.equals(pushUrl.value())
+                        ? getRequestUrl(request)
+                        : RequestContextUtils.createUrl(request, pushUrl.value(), pushUrl.contextRelative()));
+            }
+            if (replaceUrl != null) {
+                response.setHeader(HtmxResponseHeader.HX_REPLACE_URL.getValue(), HtmxValue.TRUE.equals(replaceUrl.value())
+                        ? getRequestUrl(request)
+                        : RequestContextUtils.createUrl(request, replaceUrl.value(), replaceUrl.contextRelative()));
+            }
+            headers.forEach(response::setHeader);
+        }
+    }
+
 }
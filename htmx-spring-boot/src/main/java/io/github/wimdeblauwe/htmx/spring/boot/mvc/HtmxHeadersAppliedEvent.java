@@ -0,0 +1,48 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Set;
+
+/**
+ * JFR event recorded when htmx response headers are added, either for the annotations of a handler method
+ * or for an {@link HtmxResponse}.
+ *
+ * @since 5.2.0
+ */
+@Name("io.github.wimdeblauwe.htmx.HeadersApplied")
+@Label("htmx Headers Applied")
+@Description("htmx response headers have been added to a response")
+@Category("htmx")
+@StackTrace(false)
+class HtmxHeadersAppliedEvent extends Event {
+
+    @Label("Source")
+    @Description("The handler method whose annotations were applied, or HtmxResponse")
+    String source;
+
+    @Label("Headers")
+    @Description("The names of the headers added")
+    String headers;
+
+    @Label("Size")
+    @Description("The size of the names and values of the headers added")
+    @DataAmount
+    long size;
+
+    @Label("Limited")
+    @Description("Whether the event details of the trigger headers were dropped because they exceeded the maximum size")
+    boolean limited;
+
+    /**
+     * The names of the headers present before, not part of the event.
+     */
+    transient Set<String> existingHeaders;
+
+}
@@ -0,0 +1,75 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * A filter that sheds requests while the {@link HtmxOverloadDetector} reports the server to be overloaded.
+ * <p>
+ * Instead of an error page that htmx would swap into the page, htmx requests are answered with a header-only
+ * {@code 503 Service Unavailable} that sets {@code Retry-After}, {@code HX-Reswap: none} and an {@code HX-Trigger}
+ * event with the retry details, e.g. {@code {"server-busy":{"retryAfter":5}}}. This event can be used on the client
+ * to inform the user or to back off polling. Other requests get the regular error page with {@code Retry-After}.
+ * <p>
+ * This class is not used by the library itself. Register it e.g. using a {@code FilterRegistrationBean}:
+ * <pre>{@code
+ * @Bean
+ * FilterRegistrationBean<HtmxLoadSheddingFilter> htmxLoadSheddingFilter(ThreadPoolTaskExecutor reportExecutor) {
+ *     var detector = HtmxOverloadDetector.queueSize(reportExecutor.getThreadPoolExecutor(), 100);
+ *     return new FilterRegistrationBean<>(new HtmxLoadSheddingFilter(detector));
+ * }
+ * }</pre>
+ *
+ * @see HtmxPriorityFilter
+ * @since 5.2.0
+ */
+public class HtmxLoadSheddingFilter extends OncePerRequestFilter {
+
+    private final HtmxOverloadDetector overloadDetector;
+
+    private final LoadSheddingResponse sheddingResponse = new LoadSheddingResponse();
+
+    public HtmxLoadSheddingFilter(HtmxOverloadDetector overloadDetector) {
+        Assert.notNull(overloadDetector, "overloadDetector should not be null");
+        this.overloadDetector = overloadDetector;
+    }
+
+    /**
+     * Set the name of the event triggered on the client for shed htmx requests.
+     * <p>
+     * Default is {@code server-busy}.
+     *
+     * @param eventName the name of the event
+     */
+    public void setEventName(String eventName) {
+        sheddingResponse.setEventName(eventName);
+    }
+
+    /**
+     * Set the time after which clients should retry shed requests, rounded down to seconds but at least one second.
+     * <p>
+     * Default is 5 seconds.
+     *
+     * @param retryAfter the time to wait before retrying
+     */
+    public void setRetryAfter(Duration retryAfter) {
+        sheddingResponse.setRetryAfter(retryAfter);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (overloadDetector.isOverloaded(request)) {
+            sheddingResponse.send(request, response);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+}
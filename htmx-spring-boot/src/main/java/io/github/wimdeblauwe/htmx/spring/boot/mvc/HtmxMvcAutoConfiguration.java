@@ -1,46 +1,50 @@
 package io.github.wimdeblauwe.htmx.spring.boot.mvc;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.webmvc.autoconfigure.WebMvcRegistrations;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.Ordered;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
-import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.util.List;
 
 @AutoConfiguration
 @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
-public class HtmxMvcAutoConfiguration implements WebMvcRegistrations, WebMvcConfigurer {
+@EnableConfigurationProperties(HtmxResponseProperties.class)
+@ImportRuntimeHints(HtmxRuntimeHints.class)
+public class HtmxMvcAutoConfiguration implements WebMvcConfigurer {
 
     private final HtmxHandlerMethodHandler handlerMethodHandler;
     private final HtmxResponseBodyAdvice responseBodyAdvice;
 
-    HtmxMvcAutoConfiguration() {
-        JsonMapper jsonMapper = JsonMapper.builder().build();
-        this.handlerMethodHandler = new HtmxHandlerMethodHandler(jsonMapper);
+    HtmxMvcAutoConfiguration(HtmxResponseProperties responseProperties, ApplicationStartup applicationStartup) {
+        StartupStep step = applicationStartup.start("htmx.mvc.configuration");
+        DataSize maxTriggerHeaderSize = responseProperties.getMaxTriggerHeaderSize();
+        // the mapper is only needed for trigger event details, so it is created on first use
+        this.handlerMethodHandler = new HtmxHandlerMethodHandler(() -> JsonMapper.builder().build(), maxTriggerHeaderSize != null ? maxTriggerHeaderSize.toBytes() : -1);
         this.responseBodyAdvice = new HtmxResponseBodyAdvice(handlerMethodHandler);
-    }
-
-    @Override
-    public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
-        return new HtmxRequestMappingHandlerMapping();
-    }
-
-    @Override
-    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
-        var adapter = new RequestMappingHandlerAdapter();
-        adapter.setResponseBodyAdvice(List.of(responseBodyAdvice));
-        return adapter;
+        if (maxTriggerHeaderSize != null) {
+            step.tag("maxTriggerHeaderSize", maxTriggerHeaderSize.toString());
+        }
+        step.end();
     }
 
     @Override
@@ -52,13 +56,42 @@ public class HtmxMvcAutoConfiguration implements WebMvcRegistrations, WebMvcConf
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(new HtmxHandlerMethodArgumentResolver());
         resolvers.add(new HtmxResponseHandlerMethodArgumentResolver());
+        resolvers.add(new HtmxCancellationTokenHandlerMethodArgumentResolver());
     }
 
     @Override
-    public ExceptionHandlerExceptionResolver getExceptionHandlerExceptionResolver() {
-        var resolver = new HtmxExceptionHandlerExceptionResolver(handlerMethodHandler);
-        resolver.setResponseBodyAdvice(List.of(responseBodyAdvice));
-        return resolver;
+    public void addReturnValueHandlers(List<HandlerMethodReturnValueHandler> handlers) {
+        handlers.add(new HtmxResponseHandlerMethodReturnValueHandler());
+    }
+
+    /**
+     * Decorates the {@link ExceptionHandlerExceptionResolver} configured by Spring MVC, so that it is not replaced.
+     */
+    @Override
+    public void extendHandlerExceptionResolvers(List<HandlerExceptionResolver> resolvers) {
+        resolvers.replaceAll(resolver -> resolver instanceof ExceptionHandlerExceptionResolver exceptionHandlerResolver
+                                                 && !(resolver instanceof HtmxExceptionHandlerExceptionResolver)
+                ? new HtmxHandlerExceptionResolver(exceptionHandlerResolver, handlerMethodHandler)
+                : resolver);
+    }
+
+    /**
+     * Lets Spring Boot create a {@link HtmxRequestMappingHandlerMapping}, while keeping the {@link WebMvcRegistrations}
+     * declared by the application.
+     */
+    @Bean
+    @Primary
+    static WebMvcRegistrations htmxWebMvcRegistrations(ObjectProvider<WebMvcRegistrations> registrations) {
+        return new HtmxWebMvcRegistrations(registrations);
+    }
+
+    /**
+     * Registered as a bean, so that it is picked up by the {@link RequestMappingHandlerAdapter} and the
+     * {@link ExceptionHandlerExceptionResolver} like any other {@code @ControllerAdvice}, without replacing them.
+     */
+    @Bean
+    public HtmxResponseBodyAdvice htmxResponseBodyAdvice() {
+        return responseBodyAdvice;
     }
 
     @Bean
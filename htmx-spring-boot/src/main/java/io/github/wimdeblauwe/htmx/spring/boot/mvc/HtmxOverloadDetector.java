@@ -0,0 +1,38 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Strategy to detect that the server is overloaded, so that the {@link HtmxLoadSheddingFilter} sheds requests
+ * instead of handling them.
+ *
+ * @since 5.2.0
+ */
+@FunctionalInterface
+public interface HtmxOverloadDetector {
+
+    /**
+     * Whether the server is overloaded and the given request should be shed.
+     *
+     * @param request the current request
+     * @return {@code true} if the request should be shed
+     */
+    boolean isOverloaded(HttpServletRequest request);
+
+    /**
+     * Create a detector that considers the server overloaded once the queue of the given executor
+     * holds at least the given number of tasks.
+     *
+     * @param executor     the executor to monitor
+     * @param maxQueueSize the queue size from which the server is considered overloaded
+     * @return the detector
+     */
+    static HtmxOverloadDetector queueSize(ThreadPoolExecutor executor, int maxQueueSize) {
+        Assert.notNull(executor, "executor should not be null");
+        return request -> executor.getQueue().size() >= maxQueueSize;
+    }
+
+}
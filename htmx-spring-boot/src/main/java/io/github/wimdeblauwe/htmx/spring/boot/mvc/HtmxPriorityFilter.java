@@ -0,0 +1,138 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A filter that limits the number of requests handled concurrently per {@link HtmxRequestPriority}.
+ * <p>
+ * Without limits, boosted navigations, partials, polling and preload requests all compete for the same threads of the
+ * servlet container. By limiting the concurrency of the less important kinds of requests, e.g. polling and preload,
+ * these degrade first when the server is saturated, while the threads remain available for the user's clicks.
+ * Requests exceeding the limit wait up to the configured time for a permit and are shed afterwards,
+ * in the same way as by the {@link HtmxLoadSheddingFilter}.
+ * <p>
+ * By default, requests are classified with {@link HtmxRequestPriority#of(HtmxRequest)} and no kind of request is limited.
+ * <p>
+ * This class is not used by the library itself. Register it e.g. using a {@code FilterRegistrationBean}:
+ * <pre>{@code
+ * @Bean
+ * FilterRegistrationBean<HtmxPriorityFilter> htmxPriorityFilter() {
+ *     var filter = new HtmxPriorityFilter();
+ *     filter.setClassifier(request -> request.getRequestURI().startsWith("/status/")
+ *             ? HtmxRequestPriority.POLLING
+ *             : HtmxRequestPriority.of(HtmxRequest.fromRequest(request)));
+ *     filter.setMaxConcurrentRequests(HtmxRequestPriority.POLLING, 10, Duration.ZERO);
+ *     filter.setMaxConcurrentRequests(HtmxRequestPriority.PRELOAD, 20, Duration.ZERO);
+ *     return new FilterRegistrationBean<>(filter);
+ * }
+ * }</pre>
+ *
+ * @since 5.2.0
+ */
+public class HtmxPriorityFilter extends OncePerRequestFilter {
+
+    private final Map<HtmxRequestPriority, Admission> admissions = new EnumMap<>(HtmxRequestPriority.class);
+
+    private final LoadSheddingResponse sheddingResponse = new LoadSheddingResponse();
+
+    private Function<HttpServletRequest, HtmxRequestPriority> classifier = request -> HtmxRequestPriority.of(HtmxRequest.fromRequest(request));
+
+    /**
+     * Set the function that determines the priority of a request.
+     * <p>
+     * By default, requests are classified with {@link HtmxRequestPriority#of(HtmxRequest)}.
+     *
+     * @param classifier the function to classify requests
+     */
+    public void setClassifier(Function<HttpServletRequest, HtmxRequestPriority> classifier) {
+        Assert.notNull(classifier, "classifier should not be null");
+        this.classifier = classifier;
+    }
+
+    /**
+     * Limit the number of requests of the given priority that are handled concurrently.
+     *
+     * @param priority              the priority of the requests to limit
+     * @param maxConcurrentRequests the maximum number of requests handled concurrently
+     * @param maxWaitTime           the maximum time a request waits to be handled before it is rejected
+     */
+    public void setMaxConcurrentRequests(HtmxRequestPriority priority, int maxConcurrentRequests, Duration maxWaitTime) {
+        Assert.notNull(priority, "priority should not be null");
+        Assert.isTrue(maxConcurrentRequests > 0, "maxConcurrentRequests should be greater than 0");
+        Assert.notNull(maxWaitTime, "maxWaitTime should not be null");
+        admissions.put(priority, new Admission(new Semaphore(maxConcurrentRequests), maxWaitTime.toNanos()));
+    }
+
+    /**
+     * Set the name of the event triggered on the client for shed htmx requests.
+     * <p>
+     * Default is {@code server-busy}.
+     *
+     * @param eventName the name of the event
+     * @see HtmxLoadSheddingFilter#setEventName(String)
+     */
+    public void setEventName(String eventName) {
+        sheddingResponse.setEventName(eventName);
+    }
+
+    /**
+     * Set the time after which clients should retry shed requests, rounded down to seconds but at least one second.
+     * <p>
+     * Default is 5 seconds.
+     *
+     * @param retryAfter the time to wait before retrying
+     * @see HtmxLoadSheddingFilter#setRetryAfter(Duration)
+     */
+    public void setRetryAfter(Duration retryAfter) {
+        sheddingResponse.setRetryAfter(retryAfter);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        Admission admission = admissions.get(classifier.apply(request));
+        if (admission == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!admission.acquire()) {
+            sheddingResponse.send(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admission.semaphore().release();
+        }
+    }
+
+    private record Admission(Semaphore semaphore, long maxWaitNanos) {
+
+        boolean acquire() {
+            if (maxWaitNanos <= 0) {
+                return semaphore.tryAcquire();
+            }
+            try {
+                return semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+}
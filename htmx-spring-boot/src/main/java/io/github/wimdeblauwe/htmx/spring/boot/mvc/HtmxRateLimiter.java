@@ -0,0 +1,100 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ConcurrentLruCache;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enforces {@link HxRateLimit} on handler methods.
+ * <p>
+ * Uses the generic cell rate algorithm, which needs a single {@link AtomicLong} per session and handler method
+ * holding the theoretical arrival time of the next request. Sessions that have not been seen for a while are
+ * evicted, which resets their limit.
+ *
+ * @since 5.2.0
+ */
+class HtmxRateLimiter {
+
+    private static final int CACHE_LIMIT = 4096;
+
+    private final Map<Method, Optional<Rate>> rates = new ConcurrentHashMap<>();
+
+    private final ConcurrentLruCache<Client, AtomicLong> arrivalTimes = new ConcurrentLruCache<>(CACHE_LIMIT, key -> new AtomicLong(Long.MIN_VALUE));
+
+    /**
+     * Whether the request may be handled by the given handler method.
+     */
+    boolean tryAcquire(Method method, HttpServletRequest request) {
+
+        if (request.getHeader(HtmxRequestHeader.HX_REQUEST.getValue()) == null) {
+            return true;
+        }
+        Rate rate = rates.computeIfAbsent(method, HtmxRateLimiter::createRate).orElse(null);
+        if (rate == null) {
+            return true;
+        }
+        // behind a proxy, clients without a session would share the limit of the proxy address
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return true;
+        }
+
+        // not keyed on client-controlled headers such as HX-Trigger, so that a client cannot evict the limits of others
+        AtomicLong arrivalTime = arrivalTimes.get(new Client(session.getId(), rate));
+        long now = System.nanoTime();
+        while (true) {
+            long current = arrivalTime.get();
+            long next = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            if (next - now > rate.tolerance) {
+                return false;
+            }
+            if (arrivalTime.compareAndSet(current, next + rate.interval)) {
+                return true;
+            }
+        }
+    }
+
+    private static Optional<Rate> createRate(Method method) {
+        HxRateLimit rateLimit = AnnotatedElementUtils.findMergedAnnotation(method, HxRateLimit.class);
+        if (rateLimit == null) {
+            rateLimit = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), HxRateLimit.class);
+        }
+        if (rateLimit == null) {
+            return Optional.empty();
+        }
+        if (rateLimit.requests() <= 0 || rateLimit.period() <= 0) {
+            throw new IllegalStateException("Invalid @HxRateLimit on " + method.toGenericString()
+                                            + ": requests and period should be positive, but are " + rateLimit.requests()
+                                            + " and " + rateLimit.period());
+        }
+        long period = rateLimit.timeUnit().toNanos(rateLimit.period());
+        long interval = period / rateLimit.requests();
+        return Optional.of(new Rate(interval, period - interval));
+    }
+
+    /**
+     * The rate limit of a handler method, resolved once. Compared by identity, so that it also identifies the
+     * handler method in the keys of the clients.
+     */
+    private static final class Rate {
+
+        private final long interval;
+        private final long tolerance;
+
+        Rate(long interval, long tolerance) {
+            this.interval = interval;
+            this.tolerance = tolerance;
+        }
+    }
+
+    private record Client(String sessionId, Rate rate) {
+    }
+
+}
@@ -29,6 +29,7 @@ public final class HtmxRequest {
     private final boolean boosted;
     private final String currentUrl;
     private final boolean historyRestoreRequest;
+    private final boolean preloaded;
     private final String promptResponse;
     private final String target;
     private final String triggerName;
@@ -49,11 +50,14 @@ public final class HtmxRequest {
      * @return the empty HtmxRequest
      */
     public static HtmxRequest empty() {
-        return new HtmxRequest(false, false, null, false, null, null, null, null);
+        return new HtmxRequest(false, false, null, false, false, null, null, null, null);
     }
 
     /**
      * Create a new {@link HtmxRequest} from the given {@link HttpServletRequest}.
+     * <p>
+     * The result is cached as a request attribute, so that subsequent calls for the same request,
+     * e.g. for each fragment rendered by a view, return the same instance.
      *
      * @param request the request to create the HtmxRequest from
      * @return the HtmxRequest
@@ -61,11 +65,23 @@ public final class HtmxRequest {
      */
     public static HtmxRequest fromRequest(HttpServletRequest request) {
 
+        HtmxRequest htmxRequest = RequestContextUtils.getHtmxRequest(request);
+        if (htmxRequest == null) {
+            htmxRequest = createHtmxRequest(request);
+            request.setAttribute(RequestContextUtils.HTMX_REQUEST_CONTEXT_ATTRIBUTE, htmxRequest);
+        }
+        return htmxRequest;
+    }
+
+    private static HtmxRequest createHtmxRequest(HttpServletRequest request) {
+
         String hxRequestHeader = request.getHeader(HX_REQUEST.getValue());
         if (hxRequestHeader == null) {
             return empty();
         }
 
+        Object event = HtmxFlightRecorder.beginRequestParsed();
+
         HtmxRequest.Builder builder = builder();
         if (request.getHeader(HX_BOOSTED.getValue()) != null) {
             builder.boosted(true);
@@ -76,6 +92,9 @@ public final class HtmxRequest {
         if (request.getHeader(HX_HISTORY_RESTORE_REQUEST.getValue()) != null) {
             builder.historyRestoreRequest(true);
         }
+        if (request.getHeader(HX_PRELOADED.getValue()) != null) {
+            builder.preloaded(true);
+        }
         if (request.getHeader(HX_PROMPT.getValue()) != null) {
             builder.promptResponse(request.getHeader(HX_PROMPT.getValue()));
         }
@@ -88,15 +107,18 @@ public final class HtmxRequest {
         if (request.getHeader(HX_TRIGGER.getValue()) != null) {
             builder.triggerId(request.getHeader(HX_TRIGGER.getValue()));
         }
+        HtmxRequest htmxRequest = builder.build();
 
-        return builder.build();
+        HtmxFlightRecorder.commitRequestParsed(event, request, htmxRequest);
+        return htmxRequest;
     }
 
-    HtmxRequest(boolean htmxRequest, boolean boosted, String currentUrl, boolean historyRestoreRequest, String promptResponse, String target, String triggerName, String triggerId) {
+    HtmxRequest(boolean htmxRequest, boolean boosted, String currentUrl, boolean historyRestoreRequest, boolean preloaded, String promptResponse, String target, String triggerName, String triggerId) {
         this.htmxRequest = htmxRequest;
         this.boosted = boosted;
         this.currentUrl = currentUrl;
         this.historyRestoreRequest = historyRestoreRequest;
+        this.preloaded = preloaded;
         this.promptResponse = promptResponse;
         this.target = target;
         this.triggerName = triggerName;
@@ -135,6 +157,18 @@ public final class HtmxRequest {
         return historyRestoreRequest;
     }
 
+    /**
+     * Indicates if the request is issued by the preload extension, before the user actually triggers it.
+     * Such requests are speculative and their responses are often never used.
+     *
+     * @return true if this request is a preload, false otherwise
+     * @see <a href="https://htmx.org/extensions/preload/">preload</a>
+     * @since 5.2.0
+     */
+    public boolean isPreloaded() {
+        return preloaded;
+    }
+
     /**
      * The user response to an hx-prompt.
      *
@@ -180,6 +214,7 @@ public final class HtmxRequest {
         private boolean boosted;
         private String currentUrl;
         private boolean historyRestoreRequest;
+        private boolean preloaded;
         private String promptResponse;
         private String target;
         private String triggerName;
@@ -203,6 +238,14 @@ public final class HtmxRequest {
             return this;
         }
 
+        /**
+         * @since 5.2.0
+         */
+        public Builder preloaded(boolean preloaded) {
+            this.preloaded = preloaded;
+            return this;
+        }
+
         public Builder promptResponse(String promptResponse) {
             this.promptResponse = promptResponse;
             return this;
@@ -224,7 +267,7 @@ public final class HtmxRequest {
         }
 
         public HtmxRequest build() {
-            return new HtmxRequest(true, boosted, currentUrl, historyRestoreRequest, promptResponse, target, triggerName, triggerId);
+            return new HtmxRequest(true, boosted, currentUrl, historyRestoreRequest, preloaded, promptResponse, target, triggerName, triggerId);
         }
     }
 }
@@ -0,0 +1,253 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.github.wimdeblauwe.htmx.spring.boot.mvc.HtmxRequestHeader.*;
+
+/**
+ * A filter that coalesces identical htmx {@code GET} requests that are in flight at the same time.
+ * <p>
+ * While a request is being handled, identical requests wait for it to complete and are answered with a copy of its
+ * status, headers and body instead of being handled themselves. This flattens the load caused by many clients
+ * polling the same shared fragment, e.g. an element using {@code hx-trigger="load, every 5s"}.
+ * <p>
+ * Requests are considered identical if they have the same URL, the same values for the {@link #setKeyHeaders key headers}
+ * and, unless {@link #setSharedAcrossPrincipals shared across principals}, the same authenticated principal and the same
+ * HTTP session. Requests that have neither a principal nor a session are then not coalesced, since their response may
+ * contain state of a session created while rendering it, e.g. a CSRF token.
+ * Only successful responses are shared and {@code Set-Cookie} headers are never copied.
+ * <p>
+ * This class is not used by the library itself. Register it for the URL patterns of handlers whose response depends
+ * only on these properties of the request, e.g. using a {@code FilterRegistrationBean}, and after the Spring Security
+ * filter chain so that the principal is known:
+ * <pre>{@code
+ * @Bean
+ * FilterRegistrationBean<HtmxRequestCoalescingFilter> htmxRequestCoalescingFilter() {
+ *     var registration = new FilterRegistrationBean<>(new HtmxRequestCoalescingFilter());
+ *     registration.addUrlPatterns("/dashboard/status/*");
+ *     return registration;
+ * }
+ * }</pre>
+ *
+ * @since 5.2.0
+ */
+public class HtmxRequestCoalescingFilter extends OncePerRequestFilter {
+
+    private static final List<String> DEFAULT_KEY_HEADERS = List.of(
+            HX_BOOSTED.getValue(),
+            HX_CURRENT_URL.getValue(),
+            HX_HISTORY_RESTORE_REQUEST.getValue(),
+            HX_TARGET.getValue(),
+            HX_TRIGGER.getValue(),
+            HX_TRIGGER_NAME.getValue(),
+            HttpHeaders.ACCEPT,
+            HttpHeaders.ACCEPT_LANGUAGE);
+
+    private final Map<String, CompletableFuture<CoalescedResponse>> inFlightRequests = new ConcurrentHashMap<>();
+
+    private List<String> keyHeaders = DEFAULT_KEY_HEADERS;
+
+    private boolean sharedAcrossPrincipals = false;
+
+    private Duration maxWaitTime = Duration.ofSeconds(10);
+
+    /**
+     * Set the request headers whose values must match for requests to be coalesced.
+     * <p>
+     * By default, these are the htmx request headers that identify the current page and the triggering and target
+     * element, plus {@code Accept} and {@code Accept-Language}.
+     *
+     * @param keyHeaders the names of the request headers
+     */
+    public void setKeyHeaders(String... keyHeaders) {
+        this.keyHeaders = List.of(keyHeaders);
+    }
+
+    /**
+     * Set whether requests of different principals and sessions may be coalesced.
+     * <p>
+     * Default is {@code false}: only requests of the same principal and session are coalesced, and requests without
+     * both are not coalesced at all. Only enable this for responses that do not depend on the principal or session.
+     *
+     * @param sharedAcrossPrincipals whether requests of different principals and sessions may be coalesced
+     */
+    public void setSharedAcrossPrincipals(boolean sharedAcrossPrincipals) {
+        this.sharedAcrossPrincipals = sharedAcrossPrincipals;
+    }
+
+    /**
+     * Set the maximum time to wait for an identical request in flight to complete.
+     * When exceeded, the request is handled as usual.
+     * <p>
+     * Default is 10 seconds.
+     *
+     * @param maxWaitTime the maximum time to wait
+     */
+    public void setMaxWaitTime(Duration maxWaitTime) {
+        Assert.notNull(maxWaitTime, "maxWaitTime should not be null");
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || request.getHeader(HX_REQUEST.getValue()) == null;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        if (isAsyncDispatch(request)) {
+            // the request was started asynchronously by a leading request, so it is not shared
+            filterChain.doFilter(request, response);
+            copyBodyToResponse(request, response);
+            return;
+        }
+
+        String key = createKey(request);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        var future = new CompletableFuture<CoalescedResponse>();
+        CompletableFuture<CoalescedResponse> inFlight = inFlightRequests.putIfAbsent(key, future);
+        if (inFlight != null) {
+            CoalescedResponse coalescedResponse = await(inFlight);
+            if (coalescedResponse != null) {
+                coalescedResponse.copyTo(response);
+            } else {
+                filterChain.doFilter(request, response);
+            }
+            return;
+        }
+
+        var responseWrapper = new ContentCachingResponseWrapper(response);
+        CoalescedResponse coalescedResponse = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (!isAsyncStarted(request) && responseWrapper.getStatus() == HttpServletResponse.SC_OK) {
+                coalescedResponse = CoalescedResponse.of(responseWrapper);
+            }
+        } finally {
+            inFlightRequests.remove(key, future);
+            future.complete(coalescedResponse);
+        }
+        copyBodyToResponse(request, responseWrapper);
+    }
+
+    @Nullable
+    private String createKey(HttpServletRequest request) {
+
+        var key = new StringBuilder(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        for (String keyHeader : keyHeaders) {
+            key.append('\n').append(keyHeader).append(':');
+            String value = request.getHeader(keyHeader);
+            if (value != null) {
+                key.append(value);
+            }
+        }
+        if (!sharedAcrossPrincipals) {
+            Principal principal = request.getUserPrincipal();
+            HttpSession session = request.getSession(false);
+            if (principal == null && session == null) {
+                return null;
+            }
+            key.append('\n');
+            if (principal != null) {
+                key.append(principal.getName());
+            }
+            key.append('\n');
+            if (session != null) {
+                key.append(session.getId());
+            }
+        }
+        return key.toString();
+    }
+
+    private CoalescedResponse await(CompletableFuture<CoalescedResponse> inFlight) {
+        try {
+            return inFlight.get(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private void copyBodyToResponse(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!isAsyncStarted(request)) {
+            ContentCachingResponseWrapper responseWrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (responseWrapper != null) {
+                responseWrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * A snapshot of a response that is shared with identical requests.
+     */
+    private record CoalescedResponse(int status, List<Header> headers, byte[] body) {
+
+        static CoalescedResponse of(ContentCachingResponseWrapper response) {
+            var headers = new ArrayList<Header>();
+            for (String name : response.getHeaderNames()) {
+                if (!HttpHeaders.SET_COOKIE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.add(new Header(name, List.copyOf(response.getHeaders(name))));
+                }
+            }
+            return new CoalescedResponse(response.getStatus(), headers, response.getContentAsByteArray());
+        }
+
+        void copyTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            for (Header header : headers) {
+                // headers set by earlier filters, e.g. security headers or Vary, are already present on this response
+                Collection<String> existingValues = response.getHeaders(header.name());
+                for (String value : header.values()) {
+                    if (!existingValues.contains(value)) {
+                        response.addHeader(header.name(), value);
+                    }
+                }
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            response.flushBuffer();
+        }
+    }
+
+    private record Header(String name, Collection<String> values) {
+    }
+
+}
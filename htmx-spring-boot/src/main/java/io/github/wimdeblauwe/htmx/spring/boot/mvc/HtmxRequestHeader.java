@@ -24,6 +24,14 @@ public enum HtmxRequestHeader {
      * @see <a href="https://htmx.org/reference/#request_headers">HX-History-Restore-Request</a>
      */
     HX_HISTORY_RESTORE_REQUEST("HX-History-Restore-Request"),
+    /**
+     * Only present and {@code true} if the request is issued by the
+     * <a href="https://htmx.org/extensions/preload/">preload extension</a> before the user actually triggers it.
+     *
+     * @see <a href="https://htmx.org/extensions/preload/">preload</a>
+     * @since 5.2.0
+     */
+    HX_PRELOADED("HX-Preloaded"),
     /**
      * Contains the user response to a <a href="https://htmx.org/attributes/hx-prompt/">hx-prompt</a>.
      *
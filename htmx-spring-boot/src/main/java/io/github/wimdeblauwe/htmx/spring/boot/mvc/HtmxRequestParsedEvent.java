@@ -0,0 +1,43 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded when the htmx request headers of a request are parsed into an {@link HtmxRequest}.
+ *
+ * @since 5.2.0
+ */
+@Name("io.github.wimdeblauwe.htmx.RequestParsed")
+@Label("htmx Request Parsed")
+@Description("The htmx request headers of a request have been parsed")
+@Category("htmx")
+@StackTrace(false)
+class HtmxRequestParsedEvent extends Event {
+
+    @Label("URI")
+    String uri;
+
+    @Label("Boosted")
+    boolean boosted;
+
+    @Label("History Restore Request")
+    boolean historyRestoreRequest;
+
+    @Label("Preloaded")
+    boolean preloaded;
+
+    @Label("Target")
+    String target;
+
+    @Label("Trigger")
+    String trigger;
+
+    @Label("Trigger Name")
+    String triggerName;
+
+}
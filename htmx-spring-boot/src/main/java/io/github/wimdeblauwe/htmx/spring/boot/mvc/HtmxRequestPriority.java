@@ -0,0 +1,52 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+/**
+ * The kinds of requests distinguished by the {@link HtmxPriorityFilter}, from the most to the least important.
+ *
+ * @since 5.2.0
+ */
+public enum HtmxRequestPriority {
+    /**
+     * A request for a full page that is not issued by htmx.
+     */
+    FULL_PAGE,
+    /**
+     * A navigation by the user, i.e. a boosted request or a request for history restoration.
+     */
+    NAVIGATION,
+    /**
+     * A request for a partial triggered by the user, e.g. by clicking a button.
+     */
+    INTERACTION,
+    /**
+     * A request for a partial triggered periodically, e.g. by {@code hx-trigger="every 5s"}.
+     * <p>
+     * These requests cannot be told apart from {@link #INTERACTION interactions} by their headers,
+     * so they are only recognized by a custom classifier.
+     */
+    POLLING,
+    /**
+     * A speculative request issued by the preload extension.
+     */
+    PRELOAD;
+
+    /**
+     * Classify the given request using only the htmx request headers.
+     *
+     * @param htmxRequest the request to classify
+     * @return the priority of the request, never {@link #POLLING}
+     */
+    public static HtmxRequestPriority of(HtmxRequest htmxRequest) {
+        if (!htmxRequest.isHtmxRequest()) {
+            return FULL_PAGE;
+        }
+        if (htmxRequest.isPreloaded()) {
+            return PRELOAD;
+        }
+        if (htmxRequest.isBoosted() || htmxRequest.isHistoryRestoreRequest()) {
+            return NAVIGATION;
+        }
+        return INTERACTION;
+    }
+
+}
@@ -18,6 +18,17 @@ import java.util.Set;
  * }
  * </pre>
  *
+ * <p>If only the response headers are needed, an {@code HtmxResponse} can also be returned from the controller method.
+ * The response is then sent with status {@code 204 No Content} and without resolving a view:
+ * <pre class="code">
+ * &#064;PostMapping(value = "/user")
+ * public HtmxResponse save(User user) {
+ *   var htmxResponse = new HtmxResponse();
+ *   htmxResponse.addTrigger("user-saved");
+ *   return htmxResponse;
+ * }
+ * </pre>
+ *
  * @author Oliver Drotbohm
  * @author Clint Checketts
  * @author Sascha Woo
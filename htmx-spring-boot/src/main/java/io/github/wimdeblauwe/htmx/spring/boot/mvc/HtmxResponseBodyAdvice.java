@@ -1,23 +1,36 @@
 package io.github.wimdeblauwe.htmx.spring.boot.mvc;
 
 import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * A {@link ResponseBodyAdvice} implementation that adds htmx response headers
  * based on {@link HtmxResponse}.
  * 
  * @since 5.0.0
  */
+@ControllerAdvice
 public class HtmxResponseBodyAdvice implements ResponseBodyAdvice<Object> {
 
     private final HtmxHandlerMethodHandler htmxHandlerMethodHandler;
+    private final Map<Method, Boolean> supportedMethods = new ConcurrentHashMap<>();
 
     public HtmxResponseBodyAdvice(HtmxHandlerMethodHandler htmxHandlerMethodHandler) {
         this.htmxHandlerMethodHandler = htmxHandlerMethodHandler;
@@ -25,7 +38,38 @@ public class HtmxResponseBodyAdvice implements ResponseBodyAdvice<Object> {
 
     @Override
     public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
-        return true; // Apply to all @ResponseBody methods
+        Method method = returnType.getMethod();
+        return method != null && supportedMethods.computeIfAbsent(method, HtmxResponseBodyAdvice::usesHtmxResponse);
+    }
+
+    /**
+     * Whether the given handler method takes or returns an {@link HtmxResponse}, so that other {@code @ResponseBody}
+     * methods, e.g. of JSON APIs, are not affected by this advice.
+     * <p>
+     * The return type may also be an {@code Optional} or an {@link HttpEntity}, e.g. a {@code ResponseEntity}, of
+     * {@link HtmxResponse}. Methods declaring a more general return type, e.g. {@code Object}, are only supported
+     * if they take an {@link HtmxResponse}.
+     * <p>
+     * Exception handler methods are always supported, since the handler that failed may have used the
+     * {@link HtmxResponse} of the request, whose headers have to be set before the body is written.
+     */
+    private static boolean usesHtmxResponse(Method method) {
+        if (AnnotatedElementUtils.hasAnnotation(method, ExceptionHandler.class)) {
+            return true;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (HtmxResponse.class.equals(parameterType)) {
+                return true;
+            }
+        }
+        ResolvableType returnType = ResolvableType.forMethodReturnType(method);
+        if (HttpEntity.class.isAssignableFrom(returnType.toClass())) {
+            returnType = returnType.as(HttpEntity.class).getGeneric(0);
+        }
+        if (Optional.class.equals(returnType.toClass())) {
+            returnType = returnType.getGeneric(0);
+        }
+        return HtmxResponse.class.equals(returnType.toClass());
     }
 
     @Override
@@ -35,6 +79,12 @@ public class HtmxResponseBodyAdvice implements ResponseBodyAdvice<Object> {
 
         if (request instanceof ServletServerHttpRequest servletRequest
                 && response instanceof ServletServerHttpResponse servletResponse) {
+            if (body instanceof HtmxResponse htmxResponse) {
+                // answer @ResponseBody methods returning HtmxResponse with the headers only, see HtmxResponseHandlerMethodReturnValueHandler
+                servletRequest.getServletRequest().setAttribute(RequestContextUtils.HTMX_RESPONSE_CONTEXT_ATTRIBUTE, htmxResponse);
+                response.setStatusCode(HttpStatus.NO_CONTENT);
+                body = null;
+            }
             htmxHandlerMethodHandler.handleMethodArgument(servletRequest.getServletRequest(),
                     servletResponse.getServletResponse());
         }
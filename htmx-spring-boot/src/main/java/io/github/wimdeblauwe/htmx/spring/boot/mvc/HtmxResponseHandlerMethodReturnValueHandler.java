@@ -0,0 +1,45 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Handles {@link HtmxResponse} return values by answering with {@code 204 No Content} and only the htmx response
+ * headers, without resolving and rendering a view.
+ *
+ * @since 5.2.0
+ */
+public class HtmxResponseHandlerMethodReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return returnType.getParameterType() == HtmxResponse.class;
+    }
+
+    @Override
+    public void handleReturnValue(@Nullable Object returnValue,
+                                  MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest) throws Exception {
+
+        mavContainer.setRequestHandled(true);
+
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        Assert.notNull(request, "HttpServletRequest must not be null");
+        Assert.notNull(response, "HttpServletResponse must not be null");
+
+        if (returnValue != null) {
+            // the headers are added along with those of annotations once the handler completes
+            request.setAttribute(RequestContextUtils.HTMX_RESPONSE_CONTEXT_ATTRIBUTE, returnValue);
+        }
+        response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+
+}
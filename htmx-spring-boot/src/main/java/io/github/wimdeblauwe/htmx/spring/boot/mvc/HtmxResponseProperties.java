@@ -0,0 +1,31 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the htmx response headers set from a {@link HtmxResponse}.
+ *
+ * @since 5.2.0
+ */
+@ConfigurationProperties("htmx.response")
+public class HtmxResponseProperties {
+
+    /**
+     * Maximum size of the trigger headers of a response. If exceeded, the event details of the largest headers
+     * are dropped until the headers fit. There is no limit by default.
+     */
+    @Nullable
+    private DataSize maxTriggerHeaderSize;
+
+    @Nullable
+    public DataSize getMaxTriggerHeaderSize() {
+        return maxTriggerHeaderSize;
+    }
+
+    public void setMaxTriggerHeaderSize(@Nullable DataSize maxTriggerHeaderSize) {
+        this.maxTriggerHeaderSize = maxTriggerHeaderSize;
+    }
+
+}
@@ -0,0 +1,44 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@link RuntimeHintsRegistrar} for the reflection used by the library, so that it also works in a native image.
+ * <p>
+ * The attributes of the {@code @Hx*} annotations are read reflectively when they are merged, and {@link HtmxLocation}
+ * is serialized with Jackson. The event details of triggers are application types, which have to be registered by the
+ * application itself, e.g. using {@code @RegisterReflectionForBinding}.
+ *
+ * @since 5.2.0
+ */
+class HtmxRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> ANNOTATIONS = List.of(
+            HxPushUrl.class,
+            HxRateLimit.class,
+            HxReplaceUrl.class,
+            HxRequest.class,
+            HxReselect.class,
+            HxReswap.class,
+            HxRetarget.class,
+            HxTrigger.class,
+            HxTriggerAfterSettle.class,
+            HxTriggerAfterSwap.class);
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, @Nullable ClassLoader classLoader) {
+        for (Class<?> annotation : ANNOTATIONS) {
+            hints.reflection().registerType(annotation, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        bindingRegistrar.registerReflectionHints(hints.reflection(), HtmxLocation.class);
+    }
+
+}
@@ -0,0 +1,104 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+/**
+ * A {@link DefaultServerRequestObservationConvention} that additionally tags the {@code http.server.requests}
+ * observations, and thus the resulting timers, with the element that triggered the htmx request ({@code htmx.trigger})
+ * and its target ({@code htmx.target}). This allows to measure latency per UI interaction rather than per URL.
+ * <p>
+ * The trigger is the {@code id} of the triggered element or, if it has none, its {@code name}. Requests that are not
+ * issued by htmx, or that have no trigger or target, are tagged with {@value #NONE}.
+ * <p>
+ * Since element ids may be generated, only the values of an allow-list are used as tag values, which keeps the number
+ * of time series bounded. All other values, or all values of a tag without an allow-list, are tagged with
+ * {@value #OTHER}.
+ * <p>
+ * This class is not used by the library itself. To use it, declare it as a bean:
+ * <pre>{@code
+ * @Bean
+ * HtmxServerRequestObservationConvention htmxServerRequestObservationConvention() {
+ *     var convention = new HtmxServerRequestObservationConvention();
+ *     convention.setAllowedTriggers("search", "save-button");
+ *     convention.setAllowedTargets("results");
+ *     return convention;
+ * }
+ * }</pre>
+ *
+ * @since 5.2.0
+ */
+public class HtmxServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    /**
+     * The tag value used if there is no trigger or target.
+     */
+    public static final String NONE = "none";
+
+    /**
+     * The tag value used for values that are not allowed.
+     */
+    public static final String OTHER = "other";
+
+    private Set<String> allowedTriggers = Set.of();
+
+    private Set<String> allowedTargets = Set.of();
+
+    /**
+     * Set the triggers, i.e. element ids or names, used as tag values. All other triggers are tagged as {@value #OTHER}.
+     *
+     * @param triggers the allowed triggers
+     */
+    public void setAllowedTriggers(String... triggers) {
+        this.allowedTriggers = Set.of(triggers);
+    }
+
+    /**
+     * Set the target element ids used as tag values. All other targets are tagged as {@value #OTHER}.
+     *
+     * @param targets the allowed targets
+     */
+    public void setAllowedTargets(String... targets) {
+        this.allowedTargets = Set.of(targets);
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(htmxTrigger(context), htmxTarget(context));
+    }
+
+    protected KeyValue htmxTrigger(ServerRequestObservationContext context) {
+        HttpServletRequest request = context.getCarrier();
+        String trigger = null;
+        if (request != null && request.getHeader(HtmxRequestHeader.HX_REQUEST.getValue()) != null) {
+            trigger = request.getHeader(HtmxRequestHeader.HX_TRIGGER.getValue());
+            if (trigger == null) {
+                trigger = request.getHeader(HtmxRequestHeader.HX_TRIGGER_NAME.getValue());
+            }
+        }
+        return KeyValue.of("htmx.trigger", tagValue(trigger, allowedTriggers));
+    }
+
+    protected KeyValue htmxTarget(ServerRequestObservationContext context) {
+        HttpServletRequest request = context.getCarrier();
+        String target = null;
+        if (request != null && request.getHeader(HtmxRequestHeader.HX_REQUEST.getValue()) != null) {
+            target = request.getHeader(HtmxRequestHeader.HX_TARGET.getValue());
+        }
+        return KeyValue.of("htmx.target", tagValue(target, allowedTargets));
+    }
+
+    private static String tagValue(@Nullable String value, Set<String> allowed) {
+        if (value == null || value.isEmpty()) {
+            return NONE;
+        }
+        return allowed.contains(value) ? value : OTHER;
+    }
+
+}
@@ -0,0 +1,28 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded when the {@link HtmxViewResolver} resolves a special htmx view name.
+ *
+ * @since 5.2.0
+ */
+@Name("io.github.wimdeblauwe.htmx.ViewResolved")
+@Label("htmx View Resolved")
+@Description("A special htmx view name has been resolved")
+@Category("htmx")
+@StackTrace(false)
+class HtmxViewResolvedEvent extends Event {
+
+    @Label("View Name")
+    String viewName;
+
+    @Label("View Type")
+    Class<?> viewType;
+
+}
@@ -3,6 +3,7 @@ package io.github.wimdeblauwe.htmx.spring.boot.mvc;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.Ordered;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.web.context.support.WebApplicationObjectSupport;
 import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.ViewResolver;
@@ -35,6 +36,17 @@ public class HtmxViewResolver extends WebApplicationObjectSupport implements Vie
      */
     public static final String REFRESH_VIEW_NAME = "refresh:htmx";
 
+    private static final int CACHE_LIMIT = 1024;
+
+    private static final View REFRESH_VIEW = new HtmxRefreshView();
+
+    /**
+     * The redirect views are immutable once created, so they are reused for the same view name,
+     * like {@link org.springframework.web.servlet.view.AbstractCachingViewResolver} does. Replaced by the
+     * setters that affect them, so volatile to publish the new cache and the settings it was created after.
+     */
+    private volatile ConcurrentLruCache<String, View> redirectViews = createRedirectViewCache();
+
     private int order = Ordered.LOWEST_PRECEDENCE;
 
     private boolean redirectContextRelative = true;
@@ -58,33 +70,37 @@ public class HtmxViewResolver extends WebApplicationObjectSupport implements Vie
     @Override
     public View resolveViewName(String viewName, Locale locale) throws Exception {
 
-        if (viewName.equals(REFRESH_VIEW_NAME)) {
-            return new HtmxRefreshView();
-        }
-
-        if (viewName.startsWith(LOCATION_URL_PREFIX)) {
-            String redirectUrl = viewName.substring(LOCATION_URL_PREFIX.length());
-            RedirectView view = new HtmxLocationRedirectView(redirectUrl, isRedirectContextRelative());
-            String[] hosts = getRedirectHosts();
-            if (hosts != null) {
-                view.setHosts(hosts);
-            }
+        if (viewName.startsWith(REDIRECT_URL_PREFIX)) {
+            Object event = HtmxFlightRecorder.beginViewResolved();
+            View view = redirectViews.get(viewName);
+            HtmxFlightRecorder.commitViewResolved(event, viewName, view);
             return view;
         }
 
-        if (viewName.startsWith(REDIRECT_URL_PREFIX)) {
-            String redirectUrl = viewName.substring(REDIRECT_URL_PREFIX.length());
-            RedirectView view = new HtmxRedirectView(redirectUrl, isRedirectContextRelative());
-            String[] hosts = getRedirectHosts();
-            if (hosts != null) {
-                view.setHosts(hosts);
-            }
-            return view;
+        if (viewName.equals(REFRESH_VIEW_NAME)) {
+            Object event = HtmxFlightRecorder.beginViewResolved();
+            HtmxFlightRecorder.commitViewResolved(event, viewName, REFRESH_VIEW);
+            return REFRESH_VIEW;
         }
 
         return null;
     }
 
+    private View createRedirectView(String viewName) {
+
+        RedirectView view;
+        if (viewName.startsWith(LOCATION_URL_PREFIX)) {
+            view = new HtmxLocationRedirectView(viewName.substring(LOCATION_URL_PREFIX.length()), isRedirectContextRelative());
+        } else {
+            view = new HtmxRedirectView(viewName.substring(REDIRECT_URL_PREFIX.length()), isRedirectContextRelative());
+        }
+        String[] hosts = getRedirectHosts();
+        if (hosts != null) {
+            view.setHosts(hosts);
+        }
+        return view;
+    }
+
     /**
      * Specify the order value for this ViewResolver bean.
      * <p>The default value is {@code Ordered.LOWEST_PRECEDENCE}, meaning non-ordered.
@@ -110,6 +126,7 @@ public class HtmxViewResolver extends WebApplicationObjectSupport implements Vie
      */
     public void setRedirectContextRelative(boolean redirectContextRelative) {
         this.redirectContextRelative = redirectContextRelative;
+        this.redirectViews = createRedirectViewCache();
     }
 
     /**
@@ -126,6 +143,11 @@ public class HtmxViewResolver extends WebApplicationObjectSupport implements Vie
      */
     public void setRedirectHosts(@Nullable String... redirectHosts) {
         this.redirectHosts = redirectHosts;
+        this.redirectViews = createRedirectViewCache();
+    }
+
+    private ConcurrentLruCache<String, View> createRedirectViewCache() {
+        return new ConcurrentLruCache<>(CACHE_LIMIT, this::createRedirectView);
     }
 
     /**
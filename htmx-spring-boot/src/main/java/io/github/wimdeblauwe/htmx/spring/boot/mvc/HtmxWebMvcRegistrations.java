@@ -0,0 +1,67 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.webmvc.autoconfigure.WebMvcRegistrations;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The {@link WebMvcRegistrations} that let Spring Boot create a {@link HtmxRequestMappingHandlerMapping}, which is
+ * the only way to add the {@link HxRequest} conditions when the request mappings are created.
+ * <p>
+ * Spring Boot only applies a unique {@link WebMvcRegistrations} bean, so this one is the primary bean and delegates
+ * to the registrations declared by the application. If those provide a request mapping handler mapping, it has to be
+ * a {@link HtmxRequestMappingHandlerMapping}, since {@link HxRequest} would silently be ignored otherwise.
+ *
+ * @since 5.2.0
+ */
+final class HtmxWebMvcRegistrations implements WebMvcRegistrations {
+
+    private final ObjectProvider<WebMvcRegistrations> registrations;
+
+    HtmxWebMvcRegistrations(ObjectProvider<WebMvcRegistrations> registrations) {
+        this.registrations = registrations;
+    }
+
+    @Override
+    public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+        RequestMappingHandlerMapping mapping = getFromApplication(WebMvcRegistrations::getRequestMappingHandlerMapping);
+        if (mapping == null) {
+            return new HtmxRequestMappingHandlerMapping();
+        }
+        if (!(mapping instanceof HtmxRequestMappingHandlerMapping)) {
+            throw new IllegalStateException("The RequestMappingHandlerMapping of the application's WebMvcRegistrations should extend "
+                                            + HtmxRequestMappingHandlerMapping.class.getName() + " for @HxRequest to work, but is a "
+                                            + mapping.getClass().getName());
+        }
+        return mapping;
+    }
+
+    @Override
+    @Nullable
+    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+        return getFromApplication(WebMvcRegistrations::getRequestMappingHandlerAdapter);
+    }
+
+    @Override
+    @Nullable
+    public ExceptionHandlerExceptionResolver getExceptionHandlerExceptionResolver() {
+        return getFromApplication(WebMvcRegistrations::getExceptionHandlerExceptionResolver);
+    }
+
+    @Nullable
+    private <T> T getFromApplication(Function<WebMvcRegistrations, T> getter) {
+        return registrations.orderedStream()
+                            .filter(registration -> registration != this)
+                            .map(getter)
+                            .filter(Objects::nonNull)
+                            .findFirst()
+                            .orElse(null);
+    }
+
+}
@@ -0,0 +1,54 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Annotation to limit the rate of htmx requests that reach a handler method, e.g. for search endpoints
+ * triggered on {@code keyup}.
+ * <p>
+ * Requests are counted per session and handler method. Throttled requests are answered with
+ * {@code 204 No Content} and {@code HX-Reswap: none}, so that htmx keeps the current content, without invoking the
+ * handler method. Requests that are not htmx requests, or that have no session, are never throttled.
+ * <p>
+ * Note that it is the latest request of a burst that is dropped. For search-as-you-type, the client then shows the
+ * results of an outdated query, so prefer debouncing on the client, e.g. {@code hx-trigger="keyup changed delay:300ms"},
+ * and use this annotation only to protect the server from clients that do not.
+ *
+ * <pre>
+ * {@code
+ * @GetMapping("/search")
+ * @HxRequest
+ * @HxRateLimit(requests = 5, period = 1, timeUnit = TimeUnit.SECONDS)
+ * public String search(String query, Model model) {
+ *     ...
+ * }
+ * }
+ * </pre>
+ *
+ * @since 5.2.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HxRateLimit {
+
+    /**
+     * The number of requests permitted per {@link #period()}, which may also be issued in a single burst.
+     * Should be positive. Defaults to {@code 1}.
+     */
+    int requests() default 1;
+
+    /**
+     * The period in which {@link #requests()} are permitted. Should be positive.
+     */
+    long period();
+
+    /**
+     * The {@link TimeUnit} to use for {@link #period()}. Defaults to {@link TimeUnit#MILLISECONDS}.
+     */
+    TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+}
@@ -0,0 +1,69 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The response sent for requests that are shed because the server is overloaded.
+ * <p>
+ * htmx requests get a header-only {@code 503 Service Unavailable} with {@code HX-Reswap: none}, so that the current
+ * content stays intact, and an {@code HX-Trigger} event with the number of seconds to wait before retrying, e.g.
+ * {@code {"server-busy":{"retryAfter":5}}}. Other requests get the regular error page.
+ *
+ * @since 5.2.0
+ */
+final class LoadSheddingResponse {
+
+    static final String DEFAULT_EVENT_NAME = "server-busy";
+    static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(5);
+
+    private String eventName = DEFAULT_EVENT_NAME;
+    private Duration retryAfter = DEFAULT_RETRY_AFTER;
+    private String retryAfterValue;
+    private String triggerValue;
+
+    LoadSheddingResponse() {
+        update();
+    }
+
+    void setEventName(String eventName) {
+        Assert.hasText(eventName, "eventName should not be empty");
+        this.eventName = eventName;
+        update();
+    }
+
+    void setRetryAfter(Duration retryAfter) {
+        Assert.notNull(retryAfter, "retryAfter should not be null");
+        this.retryAfter = retryAfter;
+        update();
+    }
+
+    private void update() {
+        long seconds = Math.max(retryAfter.toSeconds(), 1);
+        this.retryAfterValue = Long.toString(seconds);
+        this.triggerValue = JsonMapper.shared().writeValueAsString(Map.of(eventName, Map.of("retryAfter", seconds)));
+    }
+
+    void send(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterValue);
+        if (request.getHeader(HtmxRequestHeader.HX_REQUEST.getValue()) == null) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HtmxResponseHeader.HX_RESWAP.getValue(), HxSwapType.NONE.getValue());
+        response.setHeader(HtmxResponseHeader.HX_TRIGGER.getValue(), triggerValue);
+        response.setContentLength(0);
+        response.flushBuffer();
+    }
+
+}
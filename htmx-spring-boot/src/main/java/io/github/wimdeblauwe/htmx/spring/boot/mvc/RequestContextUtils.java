@@ -9,7 +9,9 @@ import jakarta.servlet.http.HttpServletRequest;
  */
 final class RequestContextUtils {
 
+    public static final String HTMX_REQUEST_CONTEXT_ATTRIBUTE = HtmxRequest.class.getName();
     public static final String HTMX_RESPONSE_CONTEXT_ATTRIBUTE = "htmxResponse";
+    public static final String HTMX_CANCELLATION_TOKEN_CONTEXT_ATTRIBUTE = HtmxCancellationToken.class.getName();
 
     /**
      * Creates a URL by prepending the context path if {@code contextRelative}
@@ -27,6 +29,15 @@ final class RequestContextUtils {
         return url;
     }
 
+    static HtmxRequest getHtmxRequest(HttpServletRequest request) {
+
+        Object contextAttribute = request.getAttribute(HTMX_REQUEST_CONTEXT_ATTRIBUTE);
+        if (contextAttribute instanceof HtmxRequest htmxRequest) {
+            return htmxRequest;
+        }
+        return null;
+    }
+
     static HtmxResponse getHtmxResponse(HttpServletRequest request) {
 
         Object contextAttribute = request.getAttribute(HTMX_RESPONSE_CONTEXT_ATTRIBUTE);
@@ -36,6 +47,15 @@ final class RequestContextUtils {
         return null;
     }
 
+    static HtmxCancellationToken getCancellationToken(HttpServletRequest request) {
+
+        Object contextAttribute = request.getAttribute(HTMX_CANCELLATION_TOKEN_CONTEXT_ATTRIBUTE);
+        if (contextAttribute instanceof HtmxCancellationToken token) {
+            return token;
+        }
+        return null;
+    }
+
     private static String getContextPath(HttpServletRequest request) {
         String contextPath = request.getContextPath();
         while (contextPath.startsWith("//")) {
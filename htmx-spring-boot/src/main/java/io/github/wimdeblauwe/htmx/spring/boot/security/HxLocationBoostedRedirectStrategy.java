@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.web.DefaultRedirectStrategy;
+import org.springframework.util.ConcurrentLruCache;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.io.IOException;
@@ -46,6 +47,9 @@ import static org.springframework.http.HttpStatus.OK;
  * <p>
  * In case you don’t need this "boosted" behavior, use the {@link HxLocationRedirectStrategy} instead.
  * <p>
+ * Since security handlers usually redirect to a small, fixed set of URLs, the serialized header value is cached
+ * per target URL in a bounded cache.
+ * <p>
  * For non-htmx requests, it delegates to the {@link DefaultRedirectStrategy}.
  *
  * @author LC Nicolau
@@ -55,7 +59,10 @@ import static org.springframework.http.HttpStatus.OK;
  */
 public class HxLocationBoostedRedirectStrategy extends HxLocationRedirectStrategy {
 
+    private static final int CACHE_LIMIT = 64;
+
     private final JsonMapper jsonMapper;
+    private final ConcurrentLruCache<String, String> locations;
 
     public HxLocationBoostedRedirectStrategy() {
         this(OK);
@@ -64,6 +71,7 @@ public class HxLocationBoostedRedirectStrategy extends HxLocationRedirectStrateg
     public HxLocationBoostedRedirectStrategy(HttpStatus status) {
         super(status);
         this.jsonMapper = new JsonMapper();
+        this.locations = new ConcurrentLruCache<>(CACHE_LIMIT, this::createBoostedLocation);
     }
 
     @Override
@@ -72,6 +80,10 @@ public class HxLocationBoostedRedirectStrategy extends HxLocationRedirectStrateg
     }
 
     protected String boosted(String url) {
+        return locations.get(url);
+    }
+
+    private String createBoostedLocation(String url) {
         HtmxLocation location = new HtmxLocation(url);
         location.setTarget("body");
         location.setHeaders(Map.of(HX_BOOSTED.getValue(), "true"));
@@ -18,6 +18,7 @@ import static org.springframework.http.HttpStatus.OK;
  * <p>
  * When instantiated by the default constructor, it checks for htmx requests and responds with {@link HttpStatus#OK},
  * including the target URL in the {@link HtmxResponseHeader#HX_LOCATION} header.
+ * The response is committed without a body, and by default with a {@code Content-Length: 0} header.
  * <p>
  * For non-htmx requests, it delegates to the {@link DefaultRedirectStrategy}.
  *
@@ -30,6 +31,7 @@ public class HxLocationRedirectStrategy implements RedirectStrategy {
 
     private final HttpStatus status;
     private final RedirectStrategy delegate;
+    private boolean emptyContentLength = true;
 
     public HxLocationRedirectStrategy() {
         this(OK);
@@ -52,7 +54,23 @@ public class HxLocationRedirectStrategy implements RedirectStrategy {
     protected void sendHxLocationRedirect(HttpServletRequest request, HttpServletResponse response, String url) throws IOException {
         response.setHeader(HX_LOCATION.getValue(), url);
         response.setStatus(status.value());
-        response.getWriter().flush();
+        if (emptyContentLength) {
+            response.setContentLength(0);
+        }
+        response.flushBuffer();
+    }
+
+    /**
+     * Set whether to send a {@code Content-Length: 0} header along with the htmx redirect,
+     * which allows the connection to be reused without a chunked, empty body.
+     * <p>
+     * Default is {@code true}.
+     *
+     * @param emptyContentLength whether to send a {@code Content-Length: 0} header
+     * @since 5.2.0
+     */
+    public void setEmptyContentLength(boolean emptyContentLength) {
+        this.emptyContentLength = emptyContentLength;
     }
 
 }
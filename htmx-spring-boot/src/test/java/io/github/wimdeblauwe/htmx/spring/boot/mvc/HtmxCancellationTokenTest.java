@@ -0,0 +1,123 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HtmxCancellationTokenTest {
+
+    private final Map<String, HtmxCancellationToken> registry = new ConcurrentHashMap<>();
+
+    private final MockHttpSession session = new MockHttpSession();
+
+    @Test
+    public void testNewerRequestCancelsSupersededRequest() {
+
+        var cancelled = new AtomicBoolean();
+        HtmxCancellationToken first = HtmxCancellationToken.register(registry, htmxRequest("search", "results"));
+        first.onCancel(() -> cancelled.set(true));
+
+        HtmxCancellationToken second = HtmxCancellationToken.register(registry, htmxRequest("search", "results"));
+
+        assertThat(first.isCancelled()).isTrue();
+        assertThat(cancelled).isTrue();
+        assertThat(second.isCancelled()).isFalse();
+        assertThatThrownBy(first::throwIfCancelled).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    public void testFailingCallbackDoesNotAffectNewerRequest() {
+
+        var cancelled = new AtomicBoolean();
+        HtmxCancellationToken first = HtmxCancellationToken.register(registry, htmxRequest("search", "results"));
+        first.onCancel(() -> {
+            throw new IllegalStateException("statement already closed");
+        });
+        first.onCancel(() -> cancelled.set(true));
+
+        HtmxCancellationToken second = HtmxCancellationToken.register(registry, htmxRequest("search", "results"));
+
+        assertThat(second).isNotNull();
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    public void testRequestWithoutTriggerDoesNotCancelRequestOfTriggerNamedNull() {
+
+        HtmxCancellationToken first = HtmxCancellationToken.register(registry, htmxRequest("null", "results"));
+        HtmxCancellationToken.register(registry, htmxRequest(null, "results"));
+
+        assertThat(first.isCancelled()).isFalse();
+    }
+
+    @Test
+    public void testRequestForOtherTargetDoesNotCancel() {
+
+        HtmxCancellationToken first = HtmxCancellationToken.register(registry, htmxRequest("search", "results"));
+        HtmxCancellationToken.register(registry, htmxRequest("search", "suggestions"));
+
+        assertThat(first.isCancelled()).isFalse();
+    }
+
+    @Test
+    public void testRequestWithoutSessionIsNotTracked() {
+
+        var request = new MockHttpServletRequest("GET", "/search");
+        request.addHeader("HX-Request", "true");
+        HtmxCancellationToken.register(registry, request);
+
+        assertThat(registry).isEmpty();
+    }
+
+    @Test
+    public void testReleasedRequestIsNoLongerTracked() {
+
+        HtmxCancellationToken first = HtmxCancellationToken.register(registry, htmxRequest("search", "results"));
+        first.release();
+        HtmxCancellationToken.register(registry, htmxRequest("search", "results"));
+
+        assertThat(first.isCancelled()).isFalse();
+    }
+
+    @Test
+    public void testCallbackIsInvokedImmediatelyWhenAlreadyCancelled() {
+
+        var cancelled = new AtomicBoolean();
+        HtmxCancellationToken first = HtmxCancellationToken.register(registry, htmxRequest("search", "results"));
+        HtmxCancellationToken.register(registry, htmxRequest("search", "results"));
+        first.onCancel(() -> cancelled.set(true));
+
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    public void testTokenIsCachedAsRequestAttribute() {
+
+        MockHttpServletRequest request = htmxRequest("search", "results");
+
+        assertThat(HtmxCancellationToken.register(registry, request))
+                .isSameAs(HtmxCancellationToken.register(registry, request));
+    }
+
+    private MockHttpServletRequest htmxRequest(String trigger, String target) {
+        var request = new MockHttpServletRequest("GET", "/search");
+        request.setSession(session);
+        request.addHeader("HX-Request", "true");
+        if (trigger != null) {
+            request.addHeader("HX-Trigger", trigger);
+        }
+        if (target != null) {
+            request.addHeader("HX-Target", target);
+        }
+        return request;
+    }
+
+}
@@ -0,0 +1,87 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@WebMvcTest(HtmxFlightRecorderEventsTest.TestController.class)
+@ContextConfiguration(classes = HtmxFlightRecorderEventsTest.TestController.class)
+@WithMockUser
+public class HtmxFlightRecorderEventsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+
+        List<RecordedEvent> events = record(() -> mockMvc.perform(get("/trigger")
+                .header("HX-Request", "true")
+                .header("HX-Trigger", "save-button")
+                .header("HX-Target", "list")));
+
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("io.github.wimdeblauwe.htmx.RequestParsed"))
+                          .singleElement()
+                          .satisfies(e -> {
+                              assertThat(e.getString("uri")).isEqualTo("/trigger");
+                              assertThat(e.getString("trigger")).isEqualTo("save-button");
+                              assertThat(e.getString("target")).isEqualTo("list");
+                          });
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("io.github.wimdeblauwe.htmx.HeadersApplied"))
+                          .extracting(e -> e.getString("source") + ":" + e.getString("headers"))
+                          .containsExactly("TestController#trigger:HX-Retarget", "HtmxResponse:HX-Trigger");
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("io.github.wimdeblauwe.htmx.ViewResolved"))
+                          .singleElement()
+                          .satisfies(e -> assertThat(e.getString("viewName")).isEqualTo("refresh:htmx"));
+    }
+
+    private List<RecordedEvent> record(ThrowingRunnable runnable) throws Exception {
+        Path file = tempDir.resolve("htmx.jfr");
+        try (var recording = new Recording()) {
+            recording.enable("io.github.wimdeblauwe.htmx.RequestParsed");
+            recording.enable("io.github.wimdeblauwe.htmx.HeadersApplied");
+            recording.enable("io.github.wimdeblauwe.htmx.ViewResolved");
+            recording.start();
+            runnable.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    @Controller
+    static class TestController {
+
+        @GetMapping("/trigger")
+        @HxRetarget("#list")
+        public String trigger(HtmxRequest htmxRequest, HtmxResponse htmxResponse) {
+            htmxResponse.addTrigger("saved");
+            return "refresh:htmx";
+        }
+
+    }
+
+}
@@ -3,6 +3,7 @@ package io.github.wimdeblauwe.htmx.spring.boot.mvc;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.stereotype.Controller;
 import org.springframework.test.context.ContextConfiguration;
@@ -11,10 +12,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.util.concurrent.TimeUnit;
+
 import static io.github.wimdeblauwe.htmx.spring.boot.mvc.HeaderResultMatchers.header;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.collection.IsIterableContainingInRelativeOrder.containsInRelativeOrder;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(HtmxHandlerInterceptorTest.TestController.class)
@@ -202,6 +207,46 @@ class HtmxHandlerInterceptorTest {
                .andExpect(header().string("HX-Reselect", "#target"));
     }
 
+    @Test
+    public void testHxRateLimitThrottlesHtmxRequests() throws Exception {
+        var session = new MockHttpSession();
+        mockMvc.perform(get("/hx-rate-limit").session(session).header("HX-Request", "true").header("HX-Trigger", "search"))
+               .andExpect(status().isOk())
+               .andExpect(content().string("results"));
+        mockMvc.perform(get("/hx-rate-limit").session(session).header("HX-Request", "true").header("HX-Trigger", "search"))
+               .andExpect(status().isNoContent())
+               .andExpect(header().string("HX-Reswap", "none"))
+               .andExpect(content().string(""));
+        // a different trigger does not get a separate limit
+        mockMvc.perform(get("/hx-rate-limit").session(session).header("HX-Request", "true").header("HX-Trigger", "other"))
+               .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void testHxRateLimitWithInvalidPeriodIsRejected() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/hx-rate-limit-invalid").session(new MockHttpSession()).header("HX-Request", "true")))
+                .rootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("hxRateLimitInvalid");
+    }
+
+    @Test
+    public void testHxRateLimitIgnoresRequestsWithoutSession() throws Exception {
+        mockMvc.perform(get("/hx-rate-limit").header("HX-Request", "true").header("HX-Trigger", "search"))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/hx-rate-limit").header("HX-Request", "true").header("HX-Trigger", "search"))
+               .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testHxRateLimitIgnoresNonHtmxRequests() throws Exception {
+        var session = new MockHttpSession();
+        mockMvc.perform(get("/hx-rate-limit").session(session))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/hx-rate-limit").session(session))
+               .andExpect(status().isOk());
+    }
+
     @Controller
     @RequestMapping("/")
     static class TestController {
@@ -368,6 +413,20 @@ class HtmxHandlerInterceptorTest {
             return "";
         }
 
+        @GetMapping("/hx-rate-limit")
+        @HxRateLimit(period = 1, timeUnit = TimeUnit.MINUTES)
+        @ResponseBody
+        public String hxRateLimit() {
+            return "results";
+        }
+
+        @GetMapping("/hx-rate-limit-invalid")
+        @HxRateLimit(period = 0)
+        @ResponseBody
+        public String hxRateLimitInvalid() {
+            return "results";
+        }
+
     }
 
 }
@@ -55,6 +55,19 @@ class HtmxHandlerMethodArgumentResolverTest {
         assertThat(request.isBoosted()).isFalse();
     }
 
+    @Test
+    void testHtmxRequestIsCachedAsRequestAttribute() throws Exception {
+        var result = mockMvc.perform(get("/method-arg-resolver")
+                                             .header("HX-Request", "true"))
+                            .andReturn();
+
+        ArgumentCaptor<HtmxRequest> captor = ArgumentCaptor.forClass(HtmxRequest.class);
+        verify(service).doSomething(captor.capture());
+
+        assertThat(result.getRequest().getAttribute(HtmxRequest.class.getName())).isSameAs(captor.getValue());
+        assertThat(HtmxRequest.fromRequest(result.getRequest())).isSameAs(captor.getValue());
+    }
+
     @Test
     void testHxBoosted() throws Exception {
         mockMvc.perform(get("/method-arg-resolver")
@@ -102,6 +115,21 @@ class HtmxHandlerMethodArgumentResolverTest {
         assertThat(request.isHistoryRestoreRequest()).isTrue();
     }
 
+    @Test
+    void testHxPreloaded() throws Exception {
+        mockMvc.perform(get("/method-arg-resolver")
+                                .header("HX-Request", "true")
+                                .header("HX-Preloaded", "true"));
+
+        ArgumentCaptor<HtmxRequest> captor = ArgumentCaptor.forClass(HtmxRequest.class);
+        verify(service).doSomething(captor.capture());
+
+        HtmxRequest request = captor.getValue();
+        assertThat(request).isNotNull();
+        assertThat(request.isHtmxRequest()).isTrue();
+        assertThat(request.isPreloaded()).isTrue();
+    }
+
     @Test
     void testHxPrompt() throws Exception {
         mockMvc.perform(get("/method-arg-resolver")
@@ -0,0 +1,93 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HtmxLoadSheddingFilterTest {
+
+    private final AtomicBoolean overloaded = new AtomicBoolean(true);
+
+    private final HtmxLoadSheddingFilter filter = new HtmxLoadSheddingFilter(request -> overloaded.get());
+
+    @Test
+    public void testHtmxRequestIsShedWithHeaderOnlyResponse() throws Exception {
+
+        MockHttpServletResponse response = perform(htmxRequest());
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(response.getHeader("HX-Reswap")).isEqualTo("none");
+        assertThat(response.getHeader("HX-Trigger")).isEqualTo("{\"server-busy\":{\"retryAfter\":5}}");
+        assertThat(response.getContentLength()).isZero();
+        assertThat(response.getErrorMessage()).isNull();
+    }
+
+    @Test
+    public void testEventNameAndRetryAfterCanBeConfigured() throws Exception {
+
+        filter.setEventName("overloaded");
+        filter.setRetryAfter(Duration.ofSeconds(30));
+
+        MockHttpServletResponse response = perform(htmxRequest());
+
+        assertThat(response.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(response.getHeader("HX-Trigger")).isEqualTo("{\"overloaded\":{\"retryAfter\":30}}");
+    }
+
+    @Test
+    public void testNonHtmxRequestIsShedWithErrorPage() throws Exception {
+
+        MockHttpServletResponse response = perform(new MockHttpServletRequest("GET", "/"));
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(response.getHeader("HX-Reswap")).isNull();
+        assertThat(response.isCommitted()).isTrue();
+    }
+
+    @Test
+    public void testRequestIsHandledWhenNotOverloaded() throws Exception {
+
+        overloaded.set(false);
+
+        MockHttpServletResponse response = perform(htmxRequest());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("HX-Reswap")).isNull();
+    }
+
+    @Test
+    public void testQueueSizeDetector() {
+
+        var executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(10));
+        HtmxOverloadDetector detector = HtmxOverloadDetector.queueSize(executor, 1);
+
+        assertThat(detector.isOverloaded(htmxRequest())).isFalse();
+        executor.getQueue().add(() -> {
+        });
+        assertThat(detector.isOverloaded(htmxRequest())).isTrue();
+    }
+
+    private MockHttpServletRequest htmxRequest() {
+        var request = new MockHttpServletRequest("GET", "/partial");
+        request.addHeader("HX-Request", "true");
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+}
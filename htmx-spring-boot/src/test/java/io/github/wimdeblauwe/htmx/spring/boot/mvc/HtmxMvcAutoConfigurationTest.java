@@ -0,0 +1,96 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.webmvc.autoconfigure.WebMvcAutoConfiguration;
+import org.springframework.boot.webmvc.autoconfigure.WebMvcRegistrations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.HandlerExceptionResolverComposite;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HtmxMvcAutoConfigurationTest {
+
+    @Test
+    public void testRequestMappingHandlerAdapterIsNotReplaced() {
+
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(WebMvcAutoConfiguration.class, HtmxMvcAutoConfiguration.class))
+                .withBean(WebMvcConfigurer.class, () -> new WebMvcConfigurer() {
+                    @Override
+                    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                        configurer.setDefaultTimeout(1234);
+                    }
+                })
+                .run(context -> {
+                    RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+                    assertThat(ReflectionTestUtils.getField(adapter, "asyncRequestTimeout")).isEqualTo(1234L);
+                    assertThat(context).hasSingleBean(HtmxResponseBodyAdvice.class);
+                });
+    }
+
+    @Test
+    public void testApplicationWebMvcRegistrationsAreKept() {
+
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(WebMvcAutoConfiguration.class, HtmxMvcAutoConfiguration.class))
+                .withBean(WebMvcRegistrations.class, () -> new WebMvcRegistrations() {
+                    @Override
+                    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                        return new CustomRequestMappingHandlerAdapter();
+                    }
+                })
+                .run(context -> {
+                    assertThat(context.getBean(RequestMappingHandlerMapping.class)).isInstanceOf(HtmxRequestMappingHandlerMapping.class);
+                    assertThat(context.getBean(RequestMappingHandlerAdapter.class)).isInstanceOf(CustomRequestMappingHandlerAdapter.class);
+                    assertThat(context.getBean("handlerExceptionResolver", HandlerExceptionResolverComposite.class).getExceptionResolvers())
+                            .hasAtLeastOneElementOfType(HtmxHandlerExceptionResolver.class);
+                });
+    }
+
+    @Test
+    public void testApplicationRequestMappingHandlerMappingShouldSupportHxRequest() {
+
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(WebMvcAutoConfiguration.class, HtmxMvcAutoConfiguration.class))
+                .withBean(WebMvcRegistrations.class, () -> new WebMvcRegistrations() {
+                    @Override
+                    public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+                        return new RequestMappingHandlerMapping();
+                    }
+                })
+                .run(context -> assertThat(context).getFailure()
+                                                    .rootCause()
+                                                    .isInstanceOf(IllegalStateException.class)
+                                                    .hasMessageContaining("HtmxRequestMappingHandlerMapping"));
+    }
+
+    @Test
+    public void testStartupStepIsRecorded() {
+
+        var applicationStartup = new BufferingApplicationStartup(100);
+        new WebApplicationContextRunner()
+                .withInitializer(context -> context.setApplicationStartup(applicationStartup))
+                .withConfiguration(AutoConfigurations.of(HtmxMvcAutoConfiguration.class))
+                .withPropertyValues("htmx.response.max-trigger-header-size=4KB")
+                .run(context -> assertThat(context).hasNotFailed());
+
+        assertThat(applicationStartup.getBufferedTimeline().getEvents())
+                .map(StartupTimeline.TimelineEvent::getStartupStep)
+                .anySatisfy(step -> {
+                    assertThat(step.getName()).isEqualTo("htmx.mvc.configuration");
+                    assertThat(step.getTags()).anySatisfy(tag -> assertThat(tag.getValue()).isEqualTo("4096B"));
+                });
+    }
+
+    static class CustomRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+    }
+
+}
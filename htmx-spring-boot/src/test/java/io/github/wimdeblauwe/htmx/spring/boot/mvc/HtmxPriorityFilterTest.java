@@ -0,0 +1,107 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HtmxPriorityFilterTest {
+
+    private final HtmxPriorityFilter filter = new HtmxPriorityFilter();
+
+    private final CountDownLatch handlerStarted = new CountDownLatch(1);
+
+    private final CountDownLatch releaseHandler = new CountDownLatch(1);
+
+    private final FilterChain blockingChain = (request, response) -> {
+        handlerStarted.countDown();
+        try {
+            releaseHandler.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    };
+
+    @Test
+    public void testRequestsExceedingLimitAreRejected() throws Exception {
+
+        filter.setMaxConcurrentRequests(HtmxRequestPriority.PRELOAD, 1, Duration.ZERO);
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> perform(preloadRequest()));
+        assertThat(handlerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = perform(preloadRequest());
+        MockHttpServletResponse interaction = performWithoutBlocking(htmxRequest());
+        releaseHandler.countDown();
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("HX-Reswap")).isEqualTo("none");
+        assertThat(interaction.getStatus()).isEqualTo(200);
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(perform(preloadRequest()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void testCustomClassifier() throws Exception {
+
+        filter.setClassifier(request -> HtmxRequestPriority.POLLING);
+        filter.setMaxConcurrentRequests(HtmxRequestPriority.POLLING, 1, Duration.ZERO);
+
+        CompletableFuture.supplyAsync(() -> perform(htmxRequest()));
+        assertThat(handlerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = perform(htmxRequest());
+        releaseHandler.countDown();
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    public void testDefaultClassification() {
+
+        assertThat(HtmxRequestPriority.of(HtmxRequest.empty())).isEqualTo(HtmxRequestPriority.FULL_PAGE);
+        assertThat(HtmxRequestPriority.of(HtmxRequest.builder().boosted(true).build())).isEqualTo(HtmxRequestPriority.NAVIGATION);
+        assertThat(HtmxRequestPriority.of(HtmxRequest.builder().historyRestoreRequest(true).build())).isEqualTo(HtmxRequestPriority.NAVIGATION);
+        assertThat(HtmxRequestPriority.of(HtmxRequest.builder().preloaded(true).build())).isEqualTo(HtmxRequestPriority.PRELOAD);
+        assertThat(HtmxRequestPriority.of(HtmxRequest.builder().build())).isEqualTo(HtmxRequestPriority.INTERACTION);
+    }
+
+    private MockHttpServletRequest htmxRequest() {
+        var request = new MockHttpServletRequest("GET", "/partial");
+        request.addHeader("HX-Request", "true");
+        return request;
+    }
+
+    private MockHttpServletRequest preloadRequest() {
+        MockHttpServletRequest request = htmxRequest();
+        request.addHeader("HX-Preloaded", "true");
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) {
+        return perform(request, blockingChain);
+    }
+
+    private MockHttpServletResponse performWithoutBlocking(MockHttpServletRequest request) {
+        return perform(request, (req, res) -> {
+        });
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) {
+        var response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+}
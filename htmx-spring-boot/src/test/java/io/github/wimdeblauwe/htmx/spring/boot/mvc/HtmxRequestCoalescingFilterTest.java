@@ -0,0 +1,194 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HtmxRequestCoalescingFilterTest {
+
+    private final HtmxRequestCoalescingFilter filter = new HtmxRequestCoalescingFilter();
+
+    private final MockHttpSession session = new MockHttpSession(null, "session-1");
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private final Semaphore handlerStarted = new Semaphore(0);
+
+    private final CountDownLatch releaseHandler = new CountDownLatch(1);
+
+    // a dedicated executor, since the common pool may run a single task at a time
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final FilterChain blockingChain = (request, response) -> {
+        int invocation = invocations.incrementAndGet();
+        handlerStarted.release();
+        try {
+            releaseHandler.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var servletResponse = (HttpServletResponse) response;
+        servletResponse.addHeader("Vary", "HX-Request");
+        servletResponse.setHeader("HX-Trigger", "updated");
+        servletResponse.addHeader("Set-Cookie", "session=" + invocation);
+        response.getWriter().write("status " + invocation);
+    };
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testIdenticalRequestsInFlightAreCoalesced() throws Exception {
+
+        CompletableFuture<MockHttpServletResponse> leader = CompletableFuture.supplyAsync(() -> perform(htmxRequest("/status", session)), executor);
+        assertThat(handlerStarted.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+
+        var followerResponse = new CompletableFuture<MockHttpServletResponse>();
+        var follower = new Thread(() -> followerResponse.complete(perform(htmxRequest("/status", session))));
+        follower.start();
+        awaitWaiting(follower);
+        releaseHandler.countDown();
+
+        MockHttpServletResponse leaderResponse = leader.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse coalescedResponse = followerResponse.get(5, TimeUnit.SECONDS);
+
+        assertThat(invocations).hasValue(1);
+        assertThat(leaderResponse.getContentAsString()).isEqualTo("status 1");
+        assertThat(coalescedResponse.getContentAsString()).isEqualTo("status 1");
+        assertThat(coalescedResponse.getHeader("HX-Trigger")).isEqualTo("updated");
+        assertThat(coalescedResponse.getHeader("Set-Cookie")).isNull();
+    }
+
+    @Test
+    public void testCoalescedResponseDoesNotDuplicateExistingHeaders() throws Exception {
+
+        CompletableFuture<MockHttpServletResponse> leader = CompletableFuture.supplyAsync(() -> perform(htmxRequest("/status", session), responseOfEarlierFilters()), executor);
+        assertThat(handlerStarted.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+
+        var followerResponse = new CompletableFuture<MockHttpServletResponse>();
+        var follower = new Thread(() -> followerResponse.complete(perform(htmxRequest("/status", session), responseOfEarlierFilters())));
+        follower.start();
+        awaitWaiting(follower);
+        releaseHandler.countDown();
+
+        leader.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse coalescedResponse = followerResponse.get(5, TimeUnit.SECONDS);
+
+        assertThat(invocations).hasValue(1);
+        assertThat(coalescedResponse.getHeaders("Vary")).containsExactly("Origin", "HX-Request");
+        assertThat(coalescedResponse.getHeaders("X-Frame-Options")).containsExactly("DENY");
+        assertThat(coalescedResponse.getHeaders("HX-Trigger")).containsExactly("updated");
+    }
+
+    @Test
+    public void testRequestsOfDifferentSessionsAreNotCoalesced() throws Exception {
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> perform(htmxRequest("/status", session)), executor);
+        CompletableFuture<MockHttpServletResponse> second = CompletableFuture.supplyAsync(() -> perform(htmxRequest("/status", new MockHttpSession(null, "session-2"))), executor);
+
+        // both requests reach the handler while the other one is still in flight
+        assertThat(handlerStarted.tryAcquire(2, 5, TimeUnit.SECONDS)).isTrue();
+        releaseHandler.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    public void testRequestsWithoutPrincipalAndSessionAreNotCoalesced() throws Exception {
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> perform(htmxRequest("/status", null)), executor);
+        CompletableFuture<MockHttpServletResponse> second = CompletableFuture.supplyAsync(() -> perform(htmxRequest("/status", null)), executor);
+
+        assertThat(handlerStarted.tryAcquire(2, 5, TimeUnit.SECONDS)).isTrue();
+        releaseHandler.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    public void testRequestsForDifferentTargetsAreNotCoalesced() throws Exception {
+
+        releaseHandler.countDown();
+        MockHttpServletRequest first = htmxRequest("/status", session);
+        first.addHeader("HX-Target", "first");
+        MockHttpServletRequest second = htmxRequest("/status", session);
+        second.addHeader("HX-Target", "second");
+
+        perform(first);
+        perform(second);
+
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    public void testNonHtmxRequestIsNotCoalesced() throws Exception {
+
+        releaseHandler.countDown();
+        MockHttpServletResponse response = perform(new MockHttpServletRequest("GET", "/status"));
+
+        assertThat(invocations).hasValue(1);
+        assertThat(response.getContentAsString()).isEqualTo("status 1");
+    }
+
+    private MockHttpServletRequest htmxRequest(String uri, MockHttpSession session) {
+        var request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("HX-Request", "true");
+        request.setSession(session);
+        return request;
+    }
+
+    /**
+     * Returns a response with the headers that filters before the coalescing filter, e.g. for security or CORS, add.
+     */
+    private static MockHttpServletResponse responseOfEarlierFilters() {
+        var response = new MockHttpServletResponse();
+        response.addHeader("Vary", "Origin");
+        response.setHeader("X-Frame-Options", "DENY");
+        return response;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) {
+        return perform(request, new MockHttpServletResponse());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, MockHttpServletResponse response) {
+        try {
+            filter.doFilter(request, response, blockingChain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    /**
+     * Waits until the given thread blocks, which a follower only does while waiting for the leading request.
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            assertThat(System.nanoTime() - deadline).as("thread did not block").isNegative();
+            Thread.onSpinWait();
+        }
+    }
+
+}
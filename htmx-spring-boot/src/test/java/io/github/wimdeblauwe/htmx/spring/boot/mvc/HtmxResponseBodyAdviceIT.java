@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureRestTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.client.RestTestClient;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -34,6 +35,26 @@ public class HtmxResponseBodyAdviceIT {
                 .valueEquals("HX-Retarget", "#container");
     }
 
+    @Test
+    public void testExceptionHandlerKeepsHtmxResponseOfFailedHandler() throws Exception {
+
+        get("/throw-exception-after-trigger")
+                .expectHeader()
+                .valueEquals("HX-Trigger", "failed");
+    }
+
+    @Test
+    public void testResponseEntityOfHtmxResponse() throws Exception {
+
+        webClient.get()
+                 .uri("/response-entity")
+                 .exchange()
+                 .expectStatus()
+                 .isNoContent()
+                 .expectHeader()
+                 .valueEquals("HX-Trigger", "trigger1");
+    }
+
     private RestTestClient.ResponseSpec get(String uri) {
 
         return webClient
@@ -55,12 +76,33 @@ public class HtmxResponseBodyAdviceIT {
             return "response";
         }
 
+        @GetMapping("/response-entity")
+        public ResponseEntity<HtmxResponse> responseEntity() {
+
+            var htmxResponse = new HtmxResponse();
+            htmxResponse.addTrigger("trigger1");
+            return ResponseEntity.ok(htmxResponse);
+        }
+
         @GetMapping("/throw-exception")
         public Object throwException() {
 
             throw new RuntimeException();
         }
 
+        @GetMapping("/throw-exception-after-trigger")
+        public Object throwExceptionAfterTrigger(HtmxResponse htmxResponse) {
+
+            htmxResponse.addTrigger("failed");
+            throw new IllegalStateException();
+        }
+
+        @ExceptionHandler(IllegalStateException.class)
+        public Object handleIllegalState(IllegalStateException ex) {
+
+            return "error";
+        }
+
         @ExceptionHandler(RuntimeException.class)
         public Object handleError(RuntimeException ex, HtmxResponse htmxResponse) {
 
@@ -0,0 +1,89 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HtmxResponseBodyAdviceTest {
+
+    private final HtmxResponseBodyAdvice advice = new HtmxResponseBodyAdvice(new HtmxHandlerMethodHandler(JsonMapper.shared()));
+
+    @Test
+    public void testSupportsMethodWithHtmxResponseArgument() throws NoSuchMethodException {
+        assertThat(supports("withHtmxResponseArgument", HtmxResponse.class)).isTrue();
+    }
+
+    @Test
+    public void testSupportsMethodReturningHtmxResponse() throws NoSuchMethodException {
+        assertThat(supports("returningHtmxResponse")).isTrue();
+    }
+
+    @Test
+    public void testSupportsMethodReturningWrappedHtmxResponse() throws NoSuchMethodException {
+        assertThat(supports("returningResponseEntity")).isTrue();
+        assertThat(supports("returningOptional")).isTrue();
+    }
+
+    @Test
+    public void testSupportsExceptionHandlerMethod() throws NoSuchMethodException {
+        assertThat(supports("handleError", RuntimeException.class)).isTrue();
+    }
+
+    @Test
+    public void testDoesNotSupportOtherMethods() throws NoSuchMethodException {
+        assertThat(supports("returningJson", String.class)).isFalse();
+        assertThat(supports("returningObject")).isFalse();
+        assertThat(supports("returningJsonEntity")).isFalse();
+    }
+
+    private boolean supports(String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+        var returnType = new MethodParameter(TestController.class.getMethod(methodName, parameterTypes), -1);
+        return advice.supports(returnType, StringHttpMessageConverter.class);
+    }
+
+    static class TestController {
+
+        public String withHtmxResponseArgument(HtmxResponse htmxResponse) {
+            return "response";
+        }
+
+        public HtmxResponse returningHtmxResponse() {
+            return new HtmxResponse();
+        }
+
+        public ResponseEntity<HtmxResponse> returningResponseEntity() {
+            return ResponseEntity.ok(new HtmxResponse());
+        }
+
+        public Optional<HtmxResponse> returningOptional() {
+            return Optional.of(new HtmxResponse());
+        }
+
+        public Object returningObject() {
+            return Map.of();
+        }
+
+        public ResponseEntity<Map<String, String>> returningJsonEntity() {
+            return ResponseEntity.ok(Map.of());
+        }
+
+        public Map<String, String> returningJson(String id) {
+            return Map.of("id", id);
+        }
+
+        @ExceptionHandler(RuntimeException.class)
+        public Map<String, String> handleError(RuntimeException ex) {
+            return Map.of("error", "failed");
+        }
+
+    }
+
+}
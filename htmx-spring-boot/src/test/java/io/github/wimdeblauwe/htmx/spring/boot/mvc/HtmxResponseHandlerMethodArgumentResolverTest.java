@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.time.Duration;
+import java.util.Map;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
@@ -188,6 +189,14 @@ public class HtmxResponseHandlerMethodArgumentResolverTest {
                .andExpect(header().string("HX-Trigger-After-Swap", "trigger1,trigger2"));
     }
 
+    @Test
+    public void testTriggerWithDetailsKeepsOrder() throws Exception {
+
+        mockMvc.perform(get("/trigger-with-details"))
+               .andExpect(status().isOk())
+               .andExpect(header().string("HX-Trigger", "{\"zeta\":{\"id\":1},\"alpha\":null,\"mu\":\"detail\"}"));
+    }
+
     @Test
     public void testResponseBodyReturnValue() throws Exception {
 
@@ -330,6 +339,15 @@ public class HtmxResponseHandlerMethodArgumentResolverTest {
             return "view";
         }
 
+        @GetMapping("/trigger-with-details")
+        public String triggerWithDetails(HtmxResponse response) {
+
+            response.addTrigger("zeta", Map.of("id", 1));
+            response.addTrigger("alpha");
+            response.addTrigger("mu", "detail");
+            return "view";
+        }
+
         @GetMapping("/trigger-after-settle")
         public String triggerAfterSettle(HtmxResponse response) {
 
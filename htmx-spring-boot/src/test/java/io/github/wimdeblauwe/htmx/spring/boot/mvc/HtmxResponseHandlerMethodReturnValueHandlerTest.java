@@ -0,0 +1,86 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import static io.github.wimdeblauwe.htmx.spring.boot.mvc.HeaderResultMatchers.header;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(HtmxResponseHandlerMethodReturnValueHandlerTest.TestController.class)
+@ContextConfiguration(classes = HtmxResponseHandlerMethodReturnValueHandlerTest.TestController.class)
+@WithMockUser
+public class HtmxResponseHandlerMethodReturnValueHandlerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testReturnedHtmxResponseIsSentWithoutView() throws Exception {
+
+        mockMvc.perform(get("/trigger"))
+               .andExpect(status().isNoContent())
+               .andExpect(header().string("HX-Trigger", "refreshList"))
+               .andExpect(header().string("HX-Reswap", "none"))
+               .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testReturnedHtmxResponseIsCombinedWithAnnotations() throws Exception {
+
+        mockMvc.perform(get("/trigger-annotated"))
+               .andExpect(status().isNoContent())
+               .andExpect(header().string("HX-Trigger", "refreshList"))
+               .andExpect(header().string("HX-Retarget", "#list"));
+    }
+
+    @Test
+    public void testReturnedHtmxResponseFromResponseBodyMethod() throws Exception {
+
+        mockMvc.perform(get("/trigger-response-body"))
+               .andExpect(status().isNoContent())
+               .andExpect(header().string("HX-Trigger", "refreshList"))
+               .andExpect(content().string(""));
+    }
+
+    @Controller
+    static class TestController {
+
+        @GetMapping("/trigger")
+        public HtmxResponse trigger() {
+
+            var response = new HtmxResponse();
+            response.addTrigger("refreshList");
+            response.setReswap(HtmxReswap.none());
+            return response;
+        }
+
+        @GetMapping("/trigger-annotated")
+        @HxRetarget("#list")
+        public HtmxResponse triggerAnnotated() {
+
+            var response = new HtmxResponse();
+            response.addTrigger("refreshList");
+            return response;
+        }
+
+        @GetMapping("/trigger-response-body")
+        @ResponseBody
+        public HtmxResponse triggerResponseBody() {
+
+            var response = new HtmxResponse();
+            response.addTrigger("refreshList");
+            return response;
+        }
+
+    }
+
+}
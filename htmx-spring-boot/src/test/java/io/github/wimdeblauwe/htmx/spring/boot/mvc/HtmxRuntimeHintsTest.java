@@ -0,0 +1,36 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HtmxRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    public void setUp() {
+        new HtmxRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    public void testAnnotationsAreRegistered() {
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(HxTrigger.class)
+                                         .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(HxRequest.class)
+                                         .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS)).accepts(hints);
+    }
+
+    @Test
+    public void testHtmxLocationIsRegisteredForBinding() throws NoSuchMethodException {
+
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(HtmxLocation.class.getMethod("getPath"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(HtmxLocation.class.getMethod("getValues"))).accepts(hints);
+    }
+
+}
@@ -0,0 +1,93 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HtmxServerRequestObservationConventionTest {
+
+    private final HtmxServerRequestObservationConvention convention = new HtmxServerRequestObservationConvention();
+
+    @Test
+    public void testHtmxRequestIsTaggedWithTriggerAndTarget() {
+
+        convention.setAllowedTriggers("save-button");
+        convention.setAllowedTargets("list");
+
+        KeyValues keyValues = convention.getLowCardinalityKeyValues(context(htmxRequest("save-button", "list")));
+
+        assertThat(keyValues).contains(KeyValue.of("htmx.trigger", "save-button"),
+                                       KeyValue.of("htmx.target", "list"));
+        assertThat(keyValues.stream().map(KeyValue::getKey)).contains("method", "uri", "status");
+    }
+
+    @Test
+    public void testTriggerNameIsUsedWithoutTriggerId() {
+
+        convention.setAllowedTriggers("query");
+
+        MockHttpServletRequest request = htmxRequest(null, null);
+        request.addHeader("HX-Trigger-Name", "query");
+
+        assertThat(tag(request, "htmx.trigger")).isEqualTo("query");
+        assertThat(tag(request, "htmx.target")).isEqualTo("none");
+    }
+
+    @Test
+    public void testNonHtmxRequestIsTaggedAsNone() {
+
+        convention.setAllowedTriggers("save-button");
+
+        var request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader("HX-Trigger", "save-button");
+
+        assertThat(tag(request, "htmx.trigger")).isEqualTo("none");
+    }
+
+    @Test
+    public void testValuesNotAllowedAreTaggedAsOther() {
+
+        convention.setAllowedTriggers("save-button");
+
+        assertThat(tag(htmxRequest("save-button", null), "htmx.trigger")).isEqualTo("save-button");
+        assertThat(tag(htmxRequest("row-42", null), "htmx.trigger")).isEqualTo("other");
+    }
+
+    @Test
+    public void testValuesAreTaggedAsOtherWithoutAllowList() {
+
+        convention.setAllowedTriggers("save-button");
+
+        assertThat(tag(htmxRequest("save-button", "row-1"), "htmx.target")).isEqualTo("other");
+        assertThat(tag(htmxRequest("save-button", "row-2"), "htmx.target")).isEqualTo("other");
+        assertThat(tag(htmxRequest("save-button", null), "htmx.target")).isEqualTo("none");
+    }
+
+    private String tag(MockHttpServletRequest request, String key) {
+        return convention.getLowCardinalityKeyValues(context(request)).stream()
+                         .filter(keyValue -> keyValue.getKey().equals(key))
+                         .findFirst().orElseThrow().getValue();
+    }
+
+    private ServerRequestObservationContext context(MockHttpServletRequest request) {
+        return new ServerRequestObservationContext(request, new MockHttpServletResponse());
+    }
+
+    private MockHttpServletRequest htmxRequest(String trigger, String target) {
+        var request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader("HX-Request", "true");
+        if (trigger != null) {
+            request.addHeader("HX-Trigger", trigger);
+        }
+        if (target != null) {
+            request.addHeader("HX-Target", target);
+        }
+        return request;
+    }
+
+}
@@ -0,0 +1,80 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = HtmxTriggerHeaderSizeTest.TestController.class,
+        properties = "htmx.response.max-trigger-header-size=100B")
+@ContextConfiguration(classes = HtmxTriggerHeaderSizeTest.TestController.class)
+@WithMockUser
+public class HtmxTriggerHeaderSizeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testTriggerHeadersWithinLimitKeepEventDetails() throws Exception {
+
+        mockMvc.perform(get("/small"))
+               .andExpect(status().isOk())
+               .andExpect(header().string("HX-Trigger", "{\"event1\":{\"id\":1}}"));
+    }
+
+    @Test
+    public void testTriggerHeadersExceedingLimitDropEventDetailsOfLargestHeader() throws Exception {
+
+        mockMvc.perform(get("/large"))
+               .andExpect(status().isOk())
+               .andExpect(header().string("HX-Trigger", "event1,event2"))
+               .andExpect(header().string("HX-Trigger-After-Swap", "{\"event3\":{\"id\":3}}"));
+    }
+
+    @Test
+    public void testTriggerHeadersExceedingLimitDropEventDetailsUntilWithinLimit() throws Exception {
+
+        mockMvc.perform(get("/larger"))
+               .andExpect(status().isOk())
+               .andExpect(header().string("HX-Trigger", "event1,event2"))
+               .andExpect(header().string("HX-Trigger-After-Swap", "event3"));
+    }
+
+    @Controller
+    static class TestController {
+
+        @GetMapping("/small")
+        public String small(HtmxResponse htmxResponse) {
+            htmxResponse.addTrigger("event1", Map.of("id", 1));
+            return "view";
+        }
+
+        @GetMapping("/large")
+        public String large(HtmxResponse htmxResponse) {
+            htmxResponse.addTrigger("event1", Map.of("message", "x".repeat(60)));
+            htmxResponse.addTrigger("event2");
+            htmxResponse.addTriggerAfterSwap("event3", Map.of("id", 3));
+            return "view";
+        }
+
+        @GetMapping("/larger")
+        public String larger(HtmxResponse htmxResponse) {
+            htmxResponse.addTrigger("event1", Map.of("message", "x".repeat(60)));
+            htmxResponse.addTrigger("event2");
+            htmxResponse.addTriggerAfterSwap("event3", Map.of("message", "x".repeat(40)));
+            return "view";
+        }
+
+    }
+
+}
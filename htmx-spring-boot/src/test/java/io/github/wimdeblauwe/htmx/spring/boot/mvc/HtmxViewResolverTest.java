@@ -0,0 +1,57 @@
+package io.github.wimdeblauwe.htmx.spring.boot.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.view.RedirectView;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HtmxViewResolverTest {
+
+    private final HtmxViewResolver resolver = new HtmxViewResolver();
+
+    @Test
+    public void testPlainViewNameIsNotResolved() throws Exception {
+
+        assertThat(resolver.resolveViewName("users/list", Locale.ENGLISH)).isNull();
+        assertThat(resolver.resolveViewName("redirect:/users", Locale.ENGLISH)).isNull();
+    }
+
+    @Test
+    public void testRefreshViewIsShared() throws Exception {
+
+        View view = resolver.resolveViewName("refresh:htmx", Locale.ENGLISH);
+
+        assertThat(view).isInstanceOf(HtmxRefreshView.class);
+        assertThat(resolver.resolveViewName("refresh:htmx", Locale.GERMAN)).isSameAs(view);
+    }
+
+    @Test
+    public void testRedirectViewsAreCachedByViewName() throws Exception {
+
+        View redirect = resolver.resolveViewName("redirect:htmx:/users", Locale.ENGLISH);
+        View location = resolver.resolveViewName("redirect:htmx:location:/users", Locale.ENGLISH);
+
+        assertThat(redirect).isInstanceOf(HtmxRedirectView.class);
+        assertThat(location).isInstanceOf(HtmxLocationRedirectView.class);
+        assertThat(resolver.resolveViewName("redirect:htmx:/users", Locale.ENGLISH)).isSameAs(redirect);
+        assertThat(resolver.resolveViewName("redirect:htmx:location:/users", Locale.ENGLISH)).isSameAs(location);
+        assertThat(resolver.resolveViewName("redirect:htmx:/accounts", Locale.ENGLISH)).isNotSameAs(redirect);
+    }
+
+    @Test
+    public void testChangedSettingsApplyToCachedViews() throws Exception {
+
+        View view = resolver.resolveViewName("redirect:htmx:/users", Locale.ENGLISH);
+        resolver.setRedirectHosts("example.com");
+        resolver.setRedirectContextRelative(false);
+
+        RedirectView reconfigured = (RedirectView) resolver.resolveViewName("redirect:htmx:/users", Locale.ENGLISH);
+
+        assertThat(reconfigured).isNotSameAs(view);
+        assertThat(reconfigured.getHosts()).containsExactly("example.com");
+    }
+
+}
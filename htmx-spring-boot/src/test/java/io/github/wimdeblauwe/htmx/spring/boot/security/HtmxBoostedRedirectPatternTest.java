@@ -21,6 +21,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 
 import static io.github.wimdeblauwe.htmx.spring.boot.mvc.HeaderResultMatchers.header;
 import static io.github.wimdeblauwe.htmx.spring.boot.mvc.HtmxResponseHeader.HX_LOCATION;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.testSecurityContext;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -159,6 +160,14 @@ class HtmxBoostedRedirectPatternTest {
                .andExpect(header().json(HX_LOCATION.getValue(), HX_BOOSTED_TEMPLATE.formatted(FORBIDDEN_URL)));
     }
 
+    @Test
+    void shouldReuseSerializedLocationForSameUrl() {
+        var strategy = new HxLocationBoostedRedirectStrategy();
+
+        assertThat(strategy.boosted(UNAUTHORIZED_URL)).isSameAs(strategy.boosted(UNAUTHORIZED_URL));
+        assertThat(strategy.boosted("/context" + UNAUTHORIZED_URL)).contains("\"path\":\"/context/login?unauthorized\"");
+    }
+
     @Controller
     static class TestController {
 
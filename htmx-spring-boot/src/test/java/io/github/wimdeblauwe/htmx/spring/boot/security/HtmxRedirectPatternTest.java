@@ -127,7 +127,8 @@ class HtmxRedirectPatternTest {
         mockMvc.perform(get("/unauthorized")
                                 .header("HX-Request", "true"))
                .andExpect(status().isUnauthorized())
-               .andExpect(header().string(HX_LOCATION.getValue(), UNAUTHORIZED_URL));
+               .andExpect(header().string(HX_LOCATION.getValue(), UNAUTHORIZED_URL))
+               .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "0"));
     }
 
     @Test